@@ -0,0 +1,85 @@
+package pasteleria;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de las estimaciones de un nodo. estimacionOpt y estimacionPes son consultas a las tablas precalculadas;
+ * estimacionOptHijo mide la generación de un hijo del nodo raíz y el cálculo de su estimación con cada tipo de cota.
+ * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
+ * @author Asier Rodríguez López
+ * @version 1.0
+ * @since 2.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CotasBenchmark {
+
+    /**
+     * Número de pasteleros y de pedidos.
+     */
+    @Param({"12", "64"})
+    public int n;
+
+    /**
+     * Tipo de estimación optimista.
+     */
+    @Param({"columna", "libres", "reducida"})
+    public String cota;
+
+    /**
+     * Estimaciones de la instancia.
+     */
+    private Cotas cotas;
+
+    /**
+     * Nodo raíz con los datos que necesita el tipo de cota.
+     */
+    private Nodo raiz;
+
+    /**
+     * Nodo del nivel intermedio del árbol, para las estimaciones por columnas.
+     */
+    private int numNodo;
+
+    @Setup
+    public void preparar(){
+        Instancia instancia = GeneradorInstancias.generar(n, Math.max(1, n/2), GeneradorInstancias.Distribucion.UNIFORME, 1);
+        cotas        = new Cotas(instancia, TipoCota.desdeArgumento(cota));
+        raiz         = new Nodo(n);
+        raiz.numNodo = -1;
+        raiz.estOpt  = cotas.estimacionOptRaiz(raiz);
+        numNodo      = n/2;
+    }
+
+    @Benchmark
+    public float estimacionOpt(){
+        return cotas.estimacionOpt(numNodo, 100f);
+    }
+
+    @Benchmark
+    public float estimacionPes(){
+        return cotas.estimacionPes(numNodo, 100f);
+    }
+
+    @Benchmark
+    public float estimacionOptHijo(){
+        Nodo hijo = raiz.generarHijo(0, 1f);
+        return cotas.estimacionOptHijo(raiz, hijo, 0);
+    }
+}
@@ -0,0 +1,79 @@
+package pasteleria;
+
+import java.util.Random;
+
+/**
+ * Generador de instancias aleatorias reproducibles para los benchmarks. La misma semilla produce siempre la misma
+ * instancia, de forma que las mediciones antes y después de un cambio se hacen sobre los mismos datos.
+ * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
+ * @author Asier Rodríguez López
+ * @version 1.0
+ * @since 2.0
+ */
+public final class GeneradorInstancias {
+
+    /**
+     * Distribuciones de los costes de la tabla.
+     */
+    public enum Distribucion {
+
+        /**
+         * Costes enteros uniformes entre 1 y 100.
+         */
+        UNIFORME,
+
+        /**
+         * Costes enteros uniformes entre 90 y 100. Muchos empates y cotas poco ajustadas: caso difícil para la poda.
+         */
+        ESTRECHA,
+
+        /**
+         * Coste proporcional a la lentitud del pastelero por la dificultad del pastel, más un ruido pequeño. Los
+         * mismos pasteleros son los mejores para casi todos los pasteles.
+         */
+        CORRELADA
+    }
+
+    /**
+     * Constructor privado, la clase solo ofrece métodos estáticos.
+     */
+    private GeneradorInstancias(){
+    }
+
+    /**
+     * Genera una instancia con tantos pasteleros como pedidos.
+     * @param n número de pasteleros y de pedidos.
+     * @param tiposDePasteles número de tipos de pasteles.
+     * @param distribucion distribución de los costes.
+     * @param semilla semilla del generador de números aleatorios.
+     * @return instancia generada.
+     */
+    public static Instancia generar(int n, int tiposDePasteles, Distribucion distribucion, long semilla){
+        Random random = new Random(semilla);
+
+        int[] pedidos = new int[n];
+        for(int i=0; i<n; i++) pedidos[i] = random.nextInt(tiposDePasteles)+1;
+
+        float[][] tablaCostes = new float[n][tiposDePasteles];
+        switch (distribucion){
+            case ESTRECHA:
+                for(int k=0; k<n; k++)
+                    for(int j=0; j<tiposDePasteles; j++) tablaCostes[k][j] = 90 + random.nextInt(11);
+                break;
+            case CORRELADA:
+                int[] lentitud   = new int[n];
+                int[] dificultad = new int[tiposDePasteles];
+                for(int k=0; k<n; k++) lentitud[k] = 1 + random.nextInt(10);
+                for(int j=0; j<tiposDePasteles; j++) dificultad[j] = 1 + random.nextInt(10);
+                for(int k=0; k<n; k++)
+                    for(int j=0; j<tiposDePasteles; j++) tablaCostes[k][j] = lentitud[k]*dificultad[j] + random.nextInt(5);
+                break;
+            default:
+                for(int k=0; k<n; k++)
+                    for(int j=0; j<tiposDePasteles; j++) tablaCostes[k][j] = 1 + random.nextInt(100);
+                break;
+        }
+
+        return new Instancia(tablaCostes, pedidos);
+    }
+}
@@ -0,0 +1,115 @@
+package pasteleria;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operaciones de los montículos con nodos de estimaciones aleatorias: inserción de todos los nodos seguida de la
+ * extracción de todas las cimas, y heapSort. Se mide tanto el Monticulo genérico original como MonticuloNodos y
+ * MonticuloMinMax, que son los que utiliza la ramificación y poda. Para MonticuloMinMax se mide además la poda de la
+ * mitad superior de las claves, que es lo que ocurre cuando baja la cota. Los nodos tienen profundidades y costes
+ * aleatorios para medir también el coste de la clave secundaria de cada criterio de desempate.
+ * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
+ * @author Asier Rodríguez López
+ * @version 1.0
+ * @since 2.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MonticuloBenchmark {
+
+    /**
+     * Número de nodos.
+     */
+    @Param({"1000", "100000"})
+    public int tamano;
+
+    /**
+     * Criterio de desempate de MonticuloNodos y MonticuloMinMax.
+     */
+    @Param({"NINGUNO", "PROFUNDIDAD"})
+    public Desempate desempate;
+
+    /**
+     * Nodos a insertar, en orden aleatorio.
+     */
+    private Nodo[] nodos;
+
+    /**
+     * Los mismos nodos en un ArrayList, para heapSort.
+     */
+    private ArrayList<Nodo> lista;
+
+    @Setup
+    public void preparar(){
+        Random random = new Random(1);
+        nodos = new Nodo[tamano];
+        lista = new ArrayList<>(tamano);
+        for(int i=0; i<tamano; i++){
+            nodos[i]            = new Nodo();
+            nodos[i].estOpt     = random.nextInt(10000);
+            nodos[i].numNodo    = random.nextInt(20)-1;
+            nodos[i].costeTotal = random.nextInt(nodos[i].numNodo+2)*10;
+            lista.add(nodos[i]);
+        }
+    }
+
+    @Benchmark
+    public void monticuloInsertarObtenerCima(Blackhole bh){
+        Monticulo<Nodo> monticulo = new Monticulo<>();
+        ArrayList<Nodo> vector    = monticulo.crearMonticuloVacio(tamano);
+        for(Nodo nodo: nodos) monticulo.insertar(nodo, vector);
+        while(!monticulo.elMonticuloEstaVacio(vector)) bh.consume(monticulo.obtenerCima(vector));
+    }
+
+    @Benchmark
+    public void monticuloNodosInsertarObtenerCima(Blackhole bh){
+        MonticuloNodos monticulo = new MonticuloNodos(desempate);
+        for(Nodo nodo: nodos) monticulo.insertar(nodo);
+        while(!monticulo.elMonticuloEstaVacio()) bh.consume(monticulo.obtenerCima());
+    }
+
+    @Benchmark
+    public void monticuloMinMaxInsertarObtenerCima(Blackhole bh){
+        MonticuloMinMax monticulo = new MonticuloMinMax(desempate);
+        for(Nodo nodo: nodos) monticulo.insertar(nodo);
+        while(!monticulo.elMonticuloEstaVacio()) bh.consume(monticulo.obtenerCima());
+    }
+
+    @Benchmark
+    public int monticuloMinMaxPodar(){
+        MonticuloMinMax monticulo = new MonticuloMinMax(desempate);
+        for(Nodo nodo: nodos) monticulo.insertar(nodo);
+        return monticulo.podar(5000);
+    }
+
+    /**
+     * heapSort ordena el vector recibido, por lo que se trabaja sobre una copia. El coste de la copia, lineal, se
+     * incluye en la medición.
+     * @return vector ordenado.
+     */
+    @Benchmark
+    public ArrayList<Nodo> monticuloHeapSort(){
+        ArrayList<Nodo> copia = new ArrayList<>(lista);
+        new Monticulo<Nodo>().heapSort(copia);
+        return copia;
+    }
+}
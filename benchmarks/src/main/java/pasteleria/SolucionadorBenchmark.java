@@ -0,0 +1,88 @@
+package pasteleria;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tiempo de resolución completa de una instancia, sin lectura de fichero ni validación de datos. Se mide la
+ * ramificación y poda secuencial con cada tipo de cota y, como referencia, el algoritmo húngaro.
+ * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
+ * @author Asier Rodríguez López
+ * @version 1.0
+ * @since 2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class SolucionadorBenchmark {
+
+    /**
+     * Número de pasteleros y de pedidos.
+     */
+    @Param({"8", "10", "12"})
+    public int n;
+
+    /**
+     * Distribución de los costes.
+     */
+    @Param({"UNIFORME", "ESTRECHA", "CORRELADA"})
+    public GeneradorInstancias.Distribucion distribucion;
+
+    /**
+     * Tipo de estimación optimista de la ramificación y poda.
+     */
+    @Param({"columna", "libres", "reducida"})
+    public String cota;
+
+    /**
+     * Semilla de la instancia.
+     */
+    @Param({"1"})
+    public long semilla;
+
+    /**
+     * Instancia a resolver.
+     */
+    private Instancia instancia;
+
+    /**
+     * Ramificación y poda secuencial sin trazas.
+     */
+    private Solucionador ramificacionYPoda;
+
+    /**
+     * Algoritmo húngaro.
+     */
+    private Solucionador hungaro;
+
+    @Setup
+    public void preparar(){
+        instancia         = GeneradorInstancias.generar(n, Math.max(1, n/2), distribucion, semilla);
+        ramificacionYPoda = new RamificacionYPoda(OpcionesRamificacion.nuevas().tipoCota(TipoCota.desdeArgumento(cota)).crear());
+        hungaro           = new Hungaro();
+    }
+
+    @Benchmark
+    public Resultado ramificacionYPoda(){
+        return ramificacionYPoda.resolver(instancia);
+    }
+
+    @Benchmark
+    public Resultado hungaro(){
+        return hungaro.resolver(instancia);
+    }
+}
@@ -0,0 +1,93 @@
+package pasteleria;
+
+import java.util.Arrays;
+
+/**
+ * Almacén compartido de las asignaciones parciales de los nodos del algoritmo de ramificación y poda. Cada entrada
+ * guarda únicamente el pastelero asignado en ese nivel y la entrada del nodo padre, de forma que un nodo no necesita
+ * copiar la asignación completa: basta con la posición de su entrada para reconstruirla recorriendo los padres.
+ * Los vectores se amplían duplicando su capacidad y las entradas no se liberan hasta que termina la búsqueda.
+ * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
+ * @author Asier Rodríguez López
+ * @version 1.0
+ * @since 2.0
+ */
+public class ArenaAsignaciones {
+
+    /**
+     * Posición que representa al nodo raíz, que no tiene ningún pastelero asignado.
+     */
+    public static final int RAIZ = -1;
+
+    /**
+     * Capacidad inicial de los vectores de la arena.
+     */
+    private static final int CAPACIDAD_INICIAL = 256;
+
+    /**
+     * Entrada del nodo padre de cada entrada.
+     */
+    private int[] padres;
+
+    /**
+     * Pastelero asignado en cada entrada.
+     */
+    private int[] pasteleros;
+
+    /**
+     * Número de entradas ocupadas.
+     */
+    private int tamano;
+
+    /**
+     * Crea una arena vacía.
+     */
+    public ArenaAsignaciones(){
+        this.padres     = new int[CAPACIDAD_INICIAL];
+        this.pasteleros = new int[CAPACIDAD_INICIAL];
+        this.tamano     = 0;
+    }
+
+    /**
+     * Añade la asignación de un pastelero a continuación de la asignación parcial de la entrada padre.
+     * Complejidad temporal amortizada constante O(1).
+     * @param padre entrada del nodo padre, RAIZ si es el nodo raíz.
+     * @param pastelero pastelero asignado.
+     * @return entrada creada.
+     */
+    public int anadir(int padre, int pastelero){
+        if(tamano == padres.length){
+            padres     = Arrays.copyOf(padres, tamano*2);
+            pasteleros = Arrays.copyOf(pasteleros, tamano*2);
+        }
+        padres[tamano]     = padre;
+        pasteleros[tamano] = pastelero;
+        return tamano++;
+    }
+
+    /**
+     * Reconstruye la asignación parcial de una entrada recorriendo sus padres. Los pedidos sin asignar valen -1.
+     * Complejidad temporal lineal O(n).
+     * @param entrada entrada a reconstruir, RAIZ si es el nodo raíz.
+     * @param numPedidos número total de pedidos.
+     * @param numNodo nivel del nodo de la entrada (último pedido asignado).
+     * @return pastelero asignado a cada pedido.
+     */
+    public int[] reconstruir(int entrada, int numPedidos, int numNodo){
+        int[] asignacion = new int[numPedidos];
+        Arrays.fill(asignacion, -1);
+        for(int i=numNodo; i>=0 && entrada != RAIZ; i--){
+            asignacion[i] = pasteleros[entrada];
+            entrada = padres[entrada];
+        }
+        return asignacion;
+    }
+
+    /**
+     * Devuelve el número de entradas ocupadas.
+     * @return número de entradas.
+     */
+    public int tamano(){
+        return tamano;
+    }
+}
@@ -0,0 +1,78 @@
+package pasteleria;
+
+/**
+ * Pasteleros que se prueban para el siguiente pedido de un nodo en la ramificación: los no asignados que respeta la
+ * restricción de la ruptura de simetrías, en el orden de la tabla de costes o de menor a mayor coste para el tipo de
+ * pastel del pedido. Reúne la generación de candidatos de las búsquedas secuencial y paralela.
+ * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
+ * @author Asier Rodríguez López
+ * @version 1.0
+ * @since 2.0
+ * @see pasteleria.Simetrias
+ * @see pasteleria.OrdenPasteleros
+ */
+final class Candidatos {
+
+    /**
+     * Estimaciones de la instancia, con los pasteleros ordenados por coste si se prueban en ese orden.
+     */
+    private final Cotas cotas;
+
+    /**
+     * Lista de pedidos.
+     */
+    private final int[] pedidos;
+
+    /**
+     * Ruptura de simetrías de la instancia, null si no se rompen.
+     */
+    private final Simetrias simetrias;
+
+    /**
+     * Indica si los pasteleros se prueban de menor a mayor coste.
+     */
+    private final boolean porCoste;
+
+    /**
+     * Prepara la generación de candidatos de una búsqueda.
+     * @param cotas estimaciones de la instancia; con el orden por coste deben tener los pasteleros ordenados.
+     * @param pedidos lista de pedidos.
+     * @param simetrias ruptura de simetrías de la instancia, null si no se rompen.
+     * @param ordenPasteleros orden en que se prueban los pasteleros de cada pedido.
+     */
+    Candidatos(Cotas cotas, int[] pedidos, Simetrias simetrias, OrdenPasteleros ordenPasteleros){
+        this.cotas     = cotas;
+        this.pedidos   = pedidos;
+        this.simetrias = simetrias;
+        this.porCoste  = ordenPasteleros == OrdenPasteleros.COSTE;
+    }
+
+    /**
+     * Restricción del nodo por la ruptura de simetrías.
+     * @see pasteleria.Simetrias#restriccion
+     * @param nodo nodo a consultar.
+     * @return restricción del nodo, -1 si no tiene.
+     */
+    int restriccion(Nodo nodo){
+        return simetrias == null ? -1 : simetrias.restriccion(nodo);
+    }
+
+    /**
+     * Escribe los pasteleros a probar para el siguiente pedido de un nodo en el orden en que se deben probar.
+     * @param nodo nodo a expandir.
+     * @param destino vector donde se escriben, de longitud igual al número de pasteleros.
+     * @return número de pasteleros escritos.
+     */
+    int generar(Nodo nodo, int[] destino){
+        int restriccion = restriccion(nodo);
+        int total = 0;
+        if(!porCoste){
+            for(int i=restriccion+1; i<cotas.getNumPasteleros(); i++)
+                if(!nodo.estaAsignado(i)) destino[total++] = i;
+            return total;
+        }
+        for(int i: cotas.pastelerosPorCoste(pedidos[nodo.numNodo+1]-1))
+            if(i > restriccion && !nodo.estaAsignado(i)) destino[total++] = i;
+        return total;
+    }
+}
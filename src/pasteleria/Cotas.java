@@ -0,0 +1,333 @@
+package pasteleria;
+
+import java.util.Arrays;
+
+/**
+ * Estimaciones optimista y pesimista de los nodos del algoritmo de ramificación y poda para una instancia concreta.
+ * Las tablas se preprocesan una única vez en el constructor: para cada tipo de pastel el menor y el mayor coste entre
+ * todos los pasteleros y, a partir de ellos, las sumas acumuladas desde cada pedido hasta el final de la lista.
+ * Así las estimaciones por columnas de cada nodo se reducen a una consulta de coste constante O(1).
+ * Una vez creada no se modifica, por lo que puede compartirse entre varios hilos.
+ * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
+ * @author Asier Rodríguez López
+ * @version 1.0
+ * @since 2.0
+ */
+class Cotas {
+
+    /**
+     * Tabla de costes de elaboración de cada pastel por cada pastelero.
+     */
+    private final float[][] tablaCostes;
+
+    /**
+     * Lista de pedidos.
+     */
+    private final int[] pedidos;
+
+    /**
+     * Número de pasteleros entre los que se reparten los pedidos.
+     */
+    private final int numPasteleros;
+
+    /**
+     * Tipo de estimación optimista.
+     */
+    private final TipoCota tipo;
+
+    /**
+     * Suma, desde cada pedido hasta el último, del menor coste de su tipo de pastel. Se usa en la estimación optimista.
+     */
+    private final float[] sumaMenoresCostes;
+
+    /**
+     * Suma, desde cada pedido hasta el último, del mayor coste de su tipo de pastel. Se usa en la estimación pesimista.
+     */
+    private final float[] sumaMayoresCostes;
+
+    /**
+     * Para cada tipo de pastel, pasteleros ordenados de menor a mayor coste. Se usa en la cota de pasteleros libres y
+     * para probar los pasteleros de cada pedido por orden de coste.
+     */
+    private int[][] ordenPasteleros;
+
+    /**
+     * Para cada tipo de pastel, posición de cada pastelero en ordenPasteleros. Se usa en la cota de pasteleros libres.
+     */
+    private int[][] rangoPasteleros;
+
+    /**
+     * Número de pedidos de cada tipo de pastel. Se usa en la cota de pasteleros libres.
+     */
+    private int[] pedidosPorTipo;
+
+    /**
+     * Preprocesa la instancia. Complejidad temporal O(n*m), donde 'n' es el número de pedidos y 'm' el número de tipos
+     * de pasteles, más la ordenación de los pasteleros si se utiliza la cota de pasteleros libres.
+     * @param instancia instancia a resolver.
+     * @param tipo tipo de estimación optimista.
+     */
+    Cotas(Instancia instancia, TipoCota tipo){
+        this(instancia, tipo, false);
+    }
+
+    /**
+     * Preprocesa la instancia. Complejidad temporal O(n*m), donde 'n' es el número de pedidos y 'm' el número de tipos
+     * de pasteles, más la ordenación de los pasteleros si se utiliza la cota de pasteleros libres o se indica.
+     * @param instancia instancia a resolver.
+     * @param tipo tipo de estimación optimista.
+     * @param ordenarPasteleros indica si se ordenan los pasteleros por coste para cada tipo de pastel.
+     * @see pasteleria.Cotas#pastelerosPorCoste
+     */
+    Cotas(Instancia instancia, TipoCota tipo, boolean ordenarPasteleros){
+        this.tablaCostes   = instancia.tablaCostes();
+        this.pedidos       = instancia.pedidos();
+        this.numPasteleros = tablaCostes.length;
+        this.tipo          = tipo;
+
+        int tiposDePasteles = tablaCostes[0].length;
+        float[] menorCoste  = new float[tiposDePasteles];
+        float[] mayorCoste  = new float[tiposDePasteles];
+
+        for(int j=0; j<tiposDePasteles; j++){
+            menorCoste[j] = tablaCostes[0][j];
+            mayorCoste[j] = tablaCostes[0][j];
+            for(int k=1; k<numPasteleros; k++){
+                if(menorCoste[j] > tablaCostes[k][j]) menorCoste[j] = tablaCostes[k][j];
+                if(mayorCoste[j] < tablaCostes[k][j]) mayorCoste[j] = tablaCostes[k][j];
+            }
+        }
+
+        sumaMenoresCostes = new float[pedidos.length+1];
+        sumaMayoresCostes = new float[pedidos.length+1];
+        for(int i=pedidos.length-1; i>=0; i--){
+            sumaMenoresCostes[i] = sumaMenoresCostes[i+1] + menorCoste[pedidos[i]-1];
+            sumaMayoresCostes[i] = sumaMayoresCostes[i+1] + mayorCoste[pedidos[i]-1];
+        }
+
+        if(tipo != TipoCota.LIBRES && !ordenarPasteleros) return;
+
+        //Pasteleros ordenados por coste para cada tipo de pastel
+        ordenPasteleros = new int[tiposDePasteles][];
+        Integer[] orden = new Integer[numPasteleros];
+        for(int j=0; j<tiposDePasteles; j++){
+            final int tipoPastel = j;
+            for(int k=0; k<orden.length; k++) orden[k] = k;
+            Arrays.sort(orden, (x, y) -> Float.compare(tablaCostes[x][tipoPastel], tablaCostes[y][tipoPastel]));
+            ordenPasteleros[j] = new int[orden.length];
+            for(int k=0; k<orden.length; k++) ordenPasteleros[j][k] = orden[k];
+        }
+        if(tipo != TipoCota.LIBRES) return;
+
+        //Posición de cada pastelero en el orden de cada tipo
+        rangoPasteleros = new int[tiposDePasteles][numPasteleros];
+        for(int j=0; j<tiposDePasteles; j++)
+            for(int k=0; k<numPasteleros; k++) rangoPasteleros[j][ordenPasteleros[j][k]] = k;
+
+        //Pedidos de cada tipo
+        pedidosPorTipo = new int[tiposDePasteles];
+        for(int pedido: pedidos) pedidosPorTipo[pedido-1]++;
+    }
+
+    /**
+     * Devuelve el tipo de estimación optimista.
+     * @return tipo de estimación optimista.
+     */
+    TipoCota getTipo(){
+        return tipo;
+    }
+
+    /**
+     * Devuelve el número de pasteleros entre los que se reparten los pedidos.
+     * @return número de pasteleros.
+     */
+    int getNumPasteleros(){
+        return numPasteleros;
+    }
+
+    /**
+     * Devuelve los pasteleros ordenados de menor a mayor coste para un tipo de pastel. Solo está disponible con la cota
+     * de pasteleros libres o si se ha indicado en el constructor. No se debe modificar.
+     * @param tipoPastel tipo de pastel, empezando en cero.
+     * @return pasteleros ordenados por coste.
+     */
+    int[] pastelerosPorCoste(int tipoPastel){
+        return ordenPasteleros[tipoPastel];
+    }
+
+    /**
+     * Cálculo de la estimación optimista partiendo del coste de los pedidos ya asignados.
+     * Complejidad temporal constante O(1).
+     * @param num_nodo número del nodo a partir del cual calcular la estimación.
+     * @param coste coste de los pedidos ya asignados.
+     * @return estimación optimista en función de los parámetros de entrada.
+     */
+    float estimacionOpt(int num_nodo, float coste){
+        return coste + sumaMenoresCostes[num_nodo+1];
+    }
+
+    /**
+     * Cálculo de la estimación pesimista partiendo del coste de los pedidos ya asignados.
+     * Complejidad temporal constante O(1).
+     * @param num_nodo número del nodo a partir del cual calcular la estimación.
+     * @param coste coste de los pedidos ya asignados.
+     * @return estimación pesimista en función de los parámetros de entrada.
+     */
+    float estimacionPes(int num_nodo, float coste){
+        return coste + sumaMayoresCostes[num_nodo+1];
+    }
+
+    /**
+     * Calcula la estimación optimista del nodo raíz con el tipo de cota seleccionado e inicializa en él los datos que
+     * este necesite.
+     * @param raiz nodo raíz del árbol de búsqueda.
+     * @return estimación optimista del nodo raíz.
+     */
+    float estimacionOptRaiz(Nodo raiz){
+        switch (tipo){
+            case LIBRES:
+                //En la raíz todos los pasteleros están libres: para cada tipo se reservan los más baratos
+                raiz.posLimiteLibres = new int[ordenPasteleros.length];
+                double resto = 0d;
+                for(int j=0; j<ordenPasteleros.length; j++){
+                    int restantes = pedidosPorTipo[j];
+                    for(int r=0; r<restantes; r++) resto += tablaCostes[ordenPasteleros[j][r]][j];
+                    raiz.posLimiteLibres[j] = restantes-1;
+                }
+                raiz.restoOpt = (float) resto;
+                return raiz.costeTotal + raiz.restoOpt;
+            case REDUCIDA:
+                return estimacionOptReducida(null,raiz);
+            default:
+                return estimacionOpt(raiz.numNodo,raiz.costeTotal);
+        }
+    }
+
+    /**
+     * Calcula la estimación optimista de un hijo con el tipo de cota seleccionado.
+     * @param padre nodo a partir del cual se ha generado el hijo.
+     * @param hijo nodo al que se acaba de asignar el pastelero.
+     * @param pastelero pastelero asignado al pedido del hijo.
+     * @return estimación optimista del hijo.
+     */
+    float estimacionOptHijo(Nodo padre, Nodo hijo, int pastelero){
+        switch (tipo){
+            case LIBRES:
+                return estimacionOptLibres(padre,hijo,pastelero);
+            case REDUCIDA:
+                return estimacionOptReducida(padre,hijo);
+            default:
+                return estimacionOpt(hijo.numNodo,hijo.costeTotal);
+        }
+    }
+
+    /**
+     * Cálculo de la estimación optimista considerando únicamente los pasteleros libres. Los 'c' pedidos restantes de
+     * un tipo de pastel necesitan 'c' pasteleros distintos, así que cuestan al menos lo que los 'c' pasteleros libres
+     * más baratos para ese tipo; la estimación suma esos pasteleros reservados de cada tipo. Cuando hay muchos más
+     * pasteleros que pedidos es bastante más ajustada que sumar 'c' veces el más barato.
+     * Se parte de los datos del padre: en cada tipo en el que el pastelero recién asignado estaba reservado se reserva
+     * el siguiente libre y, en el tipo del pedido asignado, se libera una reserva. Complejidad temporal O(m)
+     * amortizada, donde 'm' es el número de tipos de pasteles.
+     * Los vectores posLimiteLibres no se modifican una vez creados, por lo que el hijo comparte el del padre si ningún
+     * límite cambia.
+     * @param padre nodo a partir del cual se ha generado el hijo.
+     * @param hijo nodo al que se acaba de asignar el pastelero. Se informan posLimiteLibres y restoOpt.
+     * @param pastelero pastelero asignado al pedido del hijo.
+     * @return estimación optimista del hijo.
+     */
+    private float estimacionOptLibres(Nodo padre, Nodo hijo, int pastelero){
+        int tipoPastel = pedidos[hijo.numNodo]-1;
+        int[] pos      = padre.posLimiteLibres;
+        float resto    = padre.restoOpt;
+
+        for(int j=0; j<pos.length; j++){
+            if(pos[j] < 0) continue; //No quedan pedidos de este tipo
+            boolean reservado = rangoPasteleros[j][pastelero] <= pos[j];
+            if(j != tipoPastel && !reservado) continue;
+
+            if(pos == padre.posLimiteLibres) pos = pos.clone();
+            int p = pos[j];
+            if(j != tipoPastel){
+                //El pastelero deja de estar libre: se reserva el siguiente libre
+                do p++; while(hijo.estaAsignado(ordenPasteleros[j][p]));
+                resto += tablaCostes[ordenPasteleros[j][p]][j] - tablaCostes[pastelero][j];
+            }
+            else{
+                //Queda un pedido menos del tipo: se libera el pastelero asignado si estaba reservado o, si no, el último
+                resto -= tablaCostes[reservado ? pastelero : ordenPasteleros[j][p]][j];
+                if(!reservado || rangoPasteleros[j][pastelero] == p)
+                    do p--; while(p >= 0 && hijo.estaAsignado(ordenPasteleros[j][p]));
+            }
+            pos[j] = p;
+        }
+
+        hijo.posLimiteLibres = pos;
+        hijo.restoOpt        = resto;
+        return hijo.costeTotal + resto;
+    }
+
+    /**
+     * Cálculo de la estimación optimista mediante la reducción de filas y columnas de la matriz de costes de los pedidos
+     * restantes con los pasteleros libres. Los valores reducidos de cada pedido (dualPedidos) y de cada pastelero
+     * (dualPasteleros) se heredan del padre y siguen siendo válidos en el hijo, que solo tiene una fila y una columna
+     * menos, por lo que únicamente se vuelve a reducir lo que haya quedado sin ningún cero. La búsqueda del mínimo de
+     * cada fila y columna se detiene en cuanto se encuentra un cero, que es el caso más habitual.
+     * La reducción de columnas solo es válida si todos los pasteleros libres tienen que ser asignados, es decir, si
+     * quedan tantos pedidos como pasteleros libres. Con más pasteleros que pedidos solo se reducen las filas; para que la
+     * cota siga siendo ajustada, los solucionadores descartan antes los pasteleros que no pueden intervenir en la
+     * solución óptima (SeleccionPasteleros), lo que a menudo deja la instancia cuadrada.
+     * Complejidad temporal O(n²) en el caso peor.
+     * Los vectores de valores reducidos no se modifican una vez creados, por lo que el hijo comparte los del padre si no
+     * cambian.
+     * @param padre nodo a partir del cual se ha generado el nodo, null si es el nodo raíz.
+     * @param nodo nodo sobre el que se calcula la estimación. Se informan dualPedidos y dualPasteleros.
+     * @return estimación optimista del nodo.
+     */
+    private float estimacionOptReducida(Nodo padre, Nodo nodo){
+        float[] u = (padre == null)? new float[pedidos.length] : padre.dualPedidos;
+        float[] v = (padre == null)? new float[numPasteleros]  : padre.dualPasteleros;
+        boolean copiaU = padre == null, copiaV = padre == null;
+        float reducido, minimo;
+
+        //Reducción de filas
+        for(int i=nodo.numNodo+1; i<pedidos.length; i++){
+            int tipoPastel = pedidos[i]-1;
+            minimo = Float.POSITIVE_INFINITY;
+            for(int k=0; k<numPasteleros && minimo > 0; k++){
+                if(nodo.estaAsignado(k)) continue;
+                reducido = tablaCostes[k][tipoPastel] - u[i] - v[k];
+                if(reducido < minimo) minimo = reducido;
+            }
+            if(minimo > 0){
+                if(!copiaU){ u = u.clone(); copiaU = true; }
+                u[i] += minimo;
+            }
+        }
+
+        //Reducción de columnas, quedan tantos pedidos como pasteleros libres
+        if(pedidos.length == numPasteleros){
+            for(int k=0; k<numPasteleros; k++){
+                if(nodo.estaAsignado(k)) continue;
+                minimo = Float.POSITIVE_INFINITY;
+                for(int i=nodo.numNodo+1; i<pedidos.length && minimo > 0; i++){
+                    reducido = tablaCostes[k][pedidos[i]-1] - u[i] - v[k];
+                    if(reducido < minimo) minimo = reducido;
+                }
+                if(minimo > 0 && minimo != Float.POSITIVE_INFINITY){
+                    if(!copiaV){ v = v.clone(); copiaV = true; }
+                    v[k] += minimo;
+                }
+            }
+        }
+
+        double estimacion = 0d;
+        for(int i=nodo.numNodo+1; i<pedidos.length; i++) estimacion += u[i];
+        for(int k=0; k<numPasteleros; k++) if(!nodo.estaAsignado(k)) estimacion += v[k];
+
+        nodo.dualPedidos    = u;
+        nodo.dualPasteleros = v;
+        //Se descuenta un margen relativo para que el redondeo nunca haga superar el coste real y se pode el óptimo.
+        return nodo.costeTotal + (float)(estimacion - Math.abs(estimacion)*1e-6);
+    }
+}
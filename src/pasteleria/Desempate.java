@@ -0,0 +1,80 @@
+package pasteleria;
+
+/**
+ * Criterios de desempate entre nodos con la misma estimación optimista en el montículo del algoritmo de ramificación y
+ * poda. En instancias de costes enteros hay muchos nodos con la misma estimación y, sin desempate, el orden en que
+ * salen del montículo depende de su posición en él.
+ * Cada criterio se traduce en una clave secundaria de tipo long, menor cuanto antes deba salir el nodo, que los
+ * montículos guardan junto a la estimación optimista para seguir comparando tipos primitivos.
+ * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
+ * @author Asier Rodríguez López
+ * @version 1.0
+ * @since 2.0
+ * @see pasteleria.MonticuloNodos
+ * @see pasteleria.MonticuloMinMax
+ */
+public enum Desempate {
+
+    /**
+     * Sin desempate: a igualdad de estimación el orden depende de la posición en el montículo.
+     */
+    NINGUNO("ninguno"),
+
+    /**
+     * Primero el nodo más profundo y, a igual profundidad, el de mayor coste acumulado, cuya estimación depende menos
+     * de la parte estimada. En las mesetas de estimación la búsqueda profundiza y llega antes a soluciones completas.
+     */
+    PROFUNDIDAD("profundidad");
+
+    /**
+     * Valor con el que se indica el desempate en los argumentos de inicio del programa.
+     */
+    private final String argumento;
+
+    /**
+     * Constructor del desempate.
+     * @param argumento valor con el que se indica en los argumentos de inicio del programa.
+     */
+    Desempate(String argumento){
+        this.argumento = argumento;
+    }
+
+    /**
+     * Clave secundaria de un nodo: a igualdad de estimación optimista sale antes del montículo el de menor clave.
+     * Complejidad temporal constante O(1).
+     * @param nodo nodo a consultar.
+     * @return clave secundaria del nodo.
+     */
+    long clave(Nodo nodo){
+        switch (this){
+            case PROFUNDIDAD:
+                //Los bits de un float, corregidos en los negativos, se ordenan igual que el float como entero con signo
+                int bits  = Float.floatToIntBits(nodo.costeTotal);
+                int coste = bits ^ ((bits >> 31) & 0x7FFFFFFF);
+                //Parte alta: menos profundidad es mayor clave. Parte baja, sin signo: más coste es menor clave
+                return ((long) -nodo.numNodo << 32) | ((~coste ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+            default:
+                return 0L;
+        }
+    }
+
+    /**
+     * Devuelve el desempate correspondiente al valor indicado en los argumentos de inicio del programa.
+     * @param argumento valor indicado en los argumentos de inicio.
+     * @return desempate correspondiente.
+     * @throws IllegalArgumentException si el valor no corresponde a ningún desempate.
+     */
+    public static Desempate desdeArgumento(String argumento){
+        for(Desempate desempate: values())
+            if(desempate.argumento.equalsIgnoreCase(argumento)) return desempate;
+        throw new IllegalArgumentException("ERROR: desempate no válido => "+argumento);
+    }
+
+    /**
+     * Devuelve el valor con el que se indica el desempate en los argumentos de inicio del programa.
+     * @return valor del argumento.
+     */
+    public String getArgumento(){
+        return this.argumento;
+    }
+}
@@ -0,0 +1,257 @@
+package pasteleria;
+
+/**
+ * Métricas de una resolución: contadores de nodos de la búsqueda, tamaño máximo del montículo, diferencia entre la
+ * estimación inicial y la solución, y tiempos hasta la primera solución, hasta la mejor y total. Permiten saber si una
+ * instancia lenta está limitada por la calidad de la cota (muchos nodos insertados y pocos podados) o por el montículo
+ * (pico de nodos elevado) sin necesidad de un perfilador.
+ * Los contadores son variables primitivas que el solucionador incrementa directamente durante la búsqueda, por lo que su
+ * coste es despreciable. Una vez devueltas dentro de un Resultado no se modifican.
+ * Los motores que no realizan una búsqueda en árbol solo informan el tiempo total.
+ * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
+ * @author Asier Rodríguez López
+ * @version 1.0
+ * @since 2.0
+ */
+public final class Estadisticas {
+
+    /**
+     * Nodos creados, incluido el nodo raíz. No se cuentan las soluciones completas, que no llegan a crearse como nodo.
+     */
+    long nodosCreados;
+
+    /**
+     * Nodos insertados en el montículo.
+     */
+    long nodosInsertados;
+
+    /**
+     * Nodos extraídos del montículo para generar sus hijos.
+     */
+    long nodosExpandidos;
+
+    /**
+     * Nodos y soluciones completas descartados por superar la cota, incluidos los que quedan en el montículo al
+     * terminar la búsqueda.
+     */
+    long nodosPodados;
+
+    /**
+     * Nodos descartados por estar dominados por otro con los mismos pasteleros asignados y menor coste.
+     */
+    long nodosDominados;
+
+    /**
+     * Nodos del montículo descartados por superar el tamaño máximo de la frontera, aunque podían llevar a la solución.
+     */
+    long nodosDescartados;
+
+    /**
+     * Número de veces que se ha actualizado la mejor solución.
+     */
+    long actualizacionesSolucion;
+
+    /**
+     * Número máximo de nodos en el montículo. En la versión paralela es el máximo de los montículos de cada tarea.
+     */
+    long picoMonticulo;
+
+    /**
+     * Estimación optimista del nodo raíz.
+     */
+    float estOptRaiz = Float.NaN;
+
+    /**
+     * Cota inicial: la menor entre la estimación pesimista del nodo raíz y el coste de la solución inicial.
+     */
+    float cotaInicial = Float.NaN;
+
+    /**
+     * Nanosegundos desde el inicio hasta la primera solución completa, -1 si no se ha encontrado ninguna.
+     */
+    long tiempoPrimeraSolucion = -1;
+
+    /**
+     * Nanosegundos desde el inicio hasta la última mejora de la solución, -1 si no se ha encontrado ninguna.
+     */
+    long tiempoMejorSolucion = -1;
+
+    /**
+     * Nanosegundos de la resolución completa.
+     */
+    long tiempoTotal;
+
+    /**
+     * Registra una mejora de la solución.
+     * @param tiempo nanosegundos transcurridos desde el inicio de la resolución.
+     */
+    void registrarSolucion(long tiempo){
+        actualizacionesSolucion++;
+        if(tiempoPrimeraSolucion < 0) tiempoPrimeraSolucion = tiempo;
+        tiempoMejorSolucion = tiempo;
+    }
+
+    /**
+     * Actualiza el pico del montículo.
+     * @param tamano número actual de nodos en el montículo.
+     */
+    void registrarTamanoMonticulo(int tamano){
+        if(tamano > picoMonticulo) picoMonticulo = tamano;
+    }
+
+    /**
+     * Suma los contadores de otras estadísticas a estas. El pico del montículo es el mayor de los dos. Los tiempos y
+     * las estimaciones de la raíz no se acumulan.
+     * @param otras estadísticas a sumar.
+     */
+    synchronized void acumular(Estadisticas otras){
+        nodosCreados    += otras.nodosCreados;
+        nodosInsertados += otras.nodosInsertados;
+        nodosExpandidos += otras.nodosExpandidos;
+        nodosPodados    += otras.nodosPodados;
+        nodosDominados  += otras.nodosDominados;
+        nodosDescartados += otras.nodosDescartados;
+        picoMonticulo    = Math.max(picoMonticulo, otras.picoMonticulo);
+    }
+
+    /**
+     * Devuelve el número de nodos creados.
+     * @return nodos creados.
+     */
+    public long getNodosCreados(){
+        return nodosCreados;
+    }
+
+    /**
+     * Devuelve el número de nodos insertados en el montículo.
+     * @return nodos insertados.
+     */
+    public long getNodosInsertados(){
+        return nodosInsertados;
+    }
+
+    /**
+     * Devuelve el número de nodos expandidos.
+     * @return nodos expandidos.
+     */
+    public long getNodosExpandidos(){
+        return nodosExpandidos;
+    }
+
+    /**
+     * Devuelve el número de nodos podados por superar la cota.
+     * @return nodos podados.
+     */
+    public long getNodosPodados(){
+        return nodosPodados;
+    }
+
+    /**
+     * Devuelve el número de nodos descartados por estar dominados.
+     * @return nodos dominados.
+     */
+    public long getNodosDominados(){
+        return nodosDominados;
+    }
+
+    /**
+     * Devuelve el número de nodos descartados por superar el tamaño máximo de la frontera.
+     * @return nodos descartados.
+     */
+    public long getNodosDescartados(){
+        return nodosDescartados;
+    }
+
+    /**
+     * Devuelve el número de actualizaciones de la mejor solución.
+     * @return actualizaciones de la solución.
+     */
+    public long getActualizacionesSolucion(){
+        return actualizacionesSolucion;
+    }
+
+    /**
+     * Devuelve el número máximo de nodos en el montículo.
+     * @return pico del montículo.
+     */
+    public long getPicoMonticulo(){
+        return picoMonticulo;
+    }
+
+    /**
+     * Devuelve la estimación optimista del nodo raíz, NaN si el motor no la calcula.
+     * @return estimación optimista de la raíz.
+     */
+    public float getEstOptRaiz(){
+        return estOptRaiz;
+    }
+
+    /**
+     * Devuelve la cota inicial, NaN si el motor no la calcula.
+     * @return cota inicial.
+     */
+    public float getCotaInicial(){
+        return cotaInicial;
+    }
+
+    /**
+     * Devuelve los nanosegundos hasta la primera solución completa.
+     * @return tiempo hasta la primera solución, -1 si no se ha registrado.
+     */
+    public long getTiempoPrimeraSolucion(){
+        return tiempoPrimeraSolucion;
+    }
+
+    /**
+     * Devuelve los nanosegundos hasta la última mejora de la solución.
+     * @return tiempo hasta la mejor solución, -1 si no se ha registrado.
+     */
+    public long getTiempoMejorSolucion(){
+        return tiempoMejorSolucion;
+    }
+
+    /**
+     * Devuelve los nanosegundos de la resolución completa.
+     * @return tiempo total.
+     */
+    public long getTiempoTotal(){
+        return tiempoTotal;
+    }
+
+    /**
+     * Devuelve las estadísticas en formato legible, una métrica por línea.
+     * @param coste coste de la solución, para calcular la diferencia con las estimaciones de la raíz.
+     * @return literal con las estadísticas.
+     */
+    public String formatear(float coste){
+        StringBuilder s = new StringBuilder("SYSTEM: estadísticas de la resolución\n");
+        if(!Float.isNaN(estOptRaiz)){
+            s.append("  nodos creados: ").append(nodosCreados).append('\n');
+            s.append("  nodos insertados en el montículo: ").append(nodosInsertados).append('\n');
+            s.append("  nodos expandidos: ").append(nodosExpandidos).append('\n');
+            s.append("  nodos podados (estOpt > cota): ").append(nodosPodados).append('\n');
+            s.append("  nodos dominados: ").append(nodosDominados).append('\n');
+            s.append("  nodos descartados por el tamaño de la frontera: ").append(nodosDescartados).append('\n');
+            s.append("  actualizaciones de la solución: ").append(actualizacionesSolucion).append('\n');
+            s.append("  pico del montículo: ").append(picoMonticulo).append('\n');
+            s.append(String.format("  estimación optimista de la raíz: %s (%.2f%% por debajo de la solución)%n",
+                    estOptRaiz, porcentaje(coste-estOptRaiz, coste)));
+            s.append(String.format("  cota inicial: %s (%.2f%% por encima de la solución)%n",
+                    cotaInicial, porcentaje(cotaInicial-coste, coste)));
+            s.append(String.format("  tiempo hasta la primera solución: %.3f ms%n", tiempoPrimeraSolucion/1e6));
+            s.append(String.format("  tiempo hasta la mejor solución: %.3f ms%n", tiempoMejorSolucion/1e6));
+        }
+        s.append(String.format("  tiempo total: %.3f ms", tiempoTotal/1e6));
+        return s.toString();
+    }
+
+    /**
+     * Porcentaje de una diferencia respecto al coste de la solución.
+     * @param diferencia diferencia a expresar en porcentaje.
+     * @param coste coste de la solución.
+     * @return porcentaje, cero si el coste es cero.
+     */
+    private static double porcentaje(float diferencia, float coste){
+        return coste == 0f ? 0d : 100d*diferencia/coste;
+    }
+}
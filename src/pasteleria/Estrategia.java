@@ -0,0 +1,62 @@
+package pasteleria;
+
+/**
+ * Estrategias de recorrido del árbol de búsqueda del algoritmo de ramificación y poda.
+ * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
+ * @author Asier Rodríguez López
+ * @version 1.0
+ * @since 2.0
+ */
+public enum Estrategia {
+
+    /**
+     * Primero el mejor: se expande siempre el nodo del montículo con menor estimación optimista. Es la que menos nodos
+     * expande, pero el montículo puede crecer de forma exponencial.
+     */
+    PRIMERO_MEJOR("mejor"),
+
+    /**
+     * En profundidad: se expanden primero los hijos con menor estimación optimista. La memoria se limita a los hijos
+     * pendientes de cada nivel del camino actual, O(n*p) nodos.
+     */
+    PROFUNDIDAD("profundidad"),
+
+    /**
+     * Primero el mejor mientras el montículo no supere un tamaño máximo. A partir de ese tamaño, el subárbol de cada
+     * nodo extraído se explora en profundidad sin insertar más nodos en el montículo.
+     */
+    HIBRIDA("hibrida");
+
+    /**
+     * Valor con el que se indica la estrategia en los argumentos de inicio del programa.
+     */
+    private final String argumento;
+
+    /**
+     * Constructor de la estrategia.
+     * @param argumento valor con el que se indica en los argumentos de inicio del programa.
+     */
+    Estrategia(String argumento){
+        this.argumento = argumento;
+    }
+
+    /**
+     * Devuelve la estrategia correspondiente al valor indicado en los argumentos de inicio del programa.
+     * @param argumento valor indicado en los argumentos de inicio.
+     * @return estrategia correspondiente.
+     * @throws IllegalArgumentException si el valor no corresponde a ninguna estrategia.
+     */
+    public static Estrategia desdeArgumento(String argumento){
+        for(Estrategia estrategia: values())
+            if(estrategia.argumento.equalsIgnoreCase(argumento)) return estrategia;
+        throw new IllegalArgumentException("ERROR: estrategia no válida => "+argumento);
+    }
+
+    /**
+     * Devuelve el valor con el que se indica la estrategia en los argumentos de inicio del programa.
+     * @return valor del argumento.
+     */
+    public String getArgumento(){
+        return this.argumento;
+    }
+}
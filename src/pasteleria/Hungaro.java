@@ -0,0 +1,97 @@
+package pasteleria;
+
+import java.util.Arrays;
+
+/**
+ * Resolución exacta del problema de la pastelería mediante el algoritmo húngaro (Kuhn-Munkres). El problema es una
+ * asignación lineal entre pedidos (filas) y pasteleros (columnas) en la que el coste de asignar el pastelero k al
+ * pedido i es el coste de k para el tipo de pastel del pedido i.
+ * Se utiliza la variante con potenciales y caminos de aumento mínimos, de complejidad temporal O(n²*p), donde 'n' es
+ * el número de pedidos y 'p' el número de pasteleros (n &lt;= p).
+ * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
+ * @author Asier Rodríguez López
+ * @version 1.0
+ * @since 2.0
+ */
+public class Hungaro implements Solucionador {
+
+    @Override
+    public Resultado resolver(Instancia instancia){
+        Estadisticas estadisticas = new Estadisticas();
+        long inicio = System.nanoTime();
+        int[] pasteleros = asignar(instancia.tablaCostes(), instancia.pedidos());
+        estadisticas.tiempoTotal = System.nanoTime()-inicio;
+        return Resultado.desdeAsignacion(instancia, pasteleros, estadisticas);
+    }
+
+    /**
+     * Calcula la asignación de pasteleros a pedidos de coste mínimo.
+     * @param tabla_costes tabla de costes de elaboración de cada pastel por cada pastelero.
+     * @param pedidos lista de pedidos.
+     * @return pastelero asignado a cada pedido (empezando en cero).
+     * @throws IllegalArgumentException si hay más pedidos que pasteleros.
+     */
+    public static int[] asignar(float[][] tabla_costes, int[] pedidos){
+        int n = pedidos.length;
+        int p = tabla_costes.length;
+        if(n > p) throw new IllegalArgumentException("ERROR: el número de pedidos ("+n+") es superior al número de pasteleros ("+p+")");
+
+        //Los índices empiezan en 1, la posición 0 es el pedido/pastelero ficticio del algoritmo.
+        double[] u     = new double[n+1];     //Potencial de cada pedido
+        double[] v     = new double[p+1];     //Potencial de cada pastelero
+        int[] pedidoDe = new int[p+1];        //Pedido asignado a cada pastelero
+        int[] camino   = new int[p+1];        //Pastelero anterior en el camino de aumento
+        double[] minV  = new double[p+1];
+        boolean[] usado = new boolean[p+1];
+
+        for(int i=1; i<=n; i++){
+            pedidoDe[0] = i;
+            int k0 = 0;
+            Arrays.fill(minV, Double.POSITIVE_INFINITY);
+            Arrays.fill(usado, false);
+
+            //Búsqueda del camino de aumento de coste reducido mínimo
+            do{
+                usado[k0] = true;
+                int i0 = pedidoDe[k0], k1 = 0;
+                int tipo = pedidos[i0-1]-1;
+                double delta = Double.POSITIVE_INFINITY;
+
+                for(int k=1; k<=p; k++){
+                    if(usado[k]) continue;
+                    double reducido = tabla_costes[k-1][tipo] - u[i0] - v[k];
+                    if(reducido < minV[k]){
+                        minV[k]   = reducido;
+                        camino[k] = k0;
+                    }
+                    if(minV[k] < delta){
+                        delta = minV[k];
+                        k1    = k;
+                    }
+                }
+
+                for(int k=0; k<=p; k++){
+                    if(usado[k]){
+                        u[pedidoDe[k]] += delta;
+                        v[k]           -= delta;
+                    }
+                    else minV[k] -= delta;
+                }
+                k0 = k1;
+            } while(pedidoDe[k0] != 0);
+
+            //Se invierte el camino de aumento
+            do{
+                int k1 = camino[k0];
+                pedidoDe[k0] = pedidoDe[k1];
+                k0 = k1;
+            } while(k0 != 0);
+        }
+
+        int[] pasteleros = new int[n];
+        for(int k=1; k<=p; k++)
+            if(pedidoDe[k] != 0) pasteleros[pedidoDe[k]-1] = k-1;
+
+        return pasteleros;
+    }
+}
@@ -0,0 +1,108 @@
+package pasteleria;
+
+/**
+ * Datos de un ejemplar del problema de la pastelería: la tabla de costes de elaboración de cada tipo de pastel por cada
+ * pastelero y la lista de pedidos. Es inmutable, los vectores recibidos se copian, por lo que una misma instancia
+ * puede resolverse desde varios hilos a la vez.
+ * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
+ * @author Asier Rodríguez López
+ * @version 1.0
+ * @since 2.0
+ */
+public final class Instancia {
+
+    /**
+     * Tabla de costes de elaboración de cada pastel (columnas) por cada pastelero (filas).
+     */
+    private final float[][] tablaCostes;
+
+    /**
+     * Tipo de pastel de cada pedido, empezando en 1.
+     */
+    private final int[] pedidos;
+
+    /**
+     * Crea la instancia copiando los datos de entrada.
+     * @param tabla_costes tabla de costes de elaboración de cada pastel por cada pastelero.
+     * @param pedidos tipo de pastel de cada pedido, empezando en 1.
+     * @throws IllegalArgumentException si los datos no son coherentes.
+     */
+    public Instancia(float[][] tabla_costes, int[] pedidos){
+        if(tabla_costes == null || tabla_costes.length == 0)
+            throw new IllegalArgumentException("ERROR: la tabla de costes no puede estar vacía.");
+        if(pedidos == null || pedidos.length == 0)
+            throw new IllegalArgumentException("ERROR: la lista de pedidos no puede estar vacía.");
+        if(pedidos.length > tabla_costes.length)
+            throw new IllegalArgumentException("ERROR: el número de pedidos ("+pedidos.length+") es superior al número de pasteleros ("+tabla_costes.length+")");
+
+        int tiposDePasteles = tabla_costes[0].length;
+        this.tablaCostes = new float[tabla_costes.length][];
+        for(int k=0; k<tabla_costes.length; k++){
+            if(tabla_costes[k].length != tiposDePasteles)
+                throw new IllegalArgumentException("ERROR: los costes del pastelero "+(k+1)+" no tienen "+tiposDePasteles+" tipos de pasteles.");
+            this.tablaCostes[k] = tabla_costes[k].clone();
+        }
+        for(int pedido: pedidos)
+            if(pedido < 1 || pedido > tiposDePasteles)
+                throw new IllegalArgumentException("ERROR: se ha incluido entre los pedidos un tipo de pastel ("+pedido+") no existente.");
+        this.pedidos = pedidos.clone();
+    }
+
+    /**
+     * Devuelve el número de pasteleros.
+     * @return número de pasteleros.
+     */
+    public int getNumPasteleros(){
+        return tablaCostes.length;
+    }
+
+    /**
+     * Devuelve el número de tipos de pasteles.
+     * @return número de tipos de pasteles.
+     */
+    public int getTiposDePasteles(){
+        return tablaCostes[0].length;
+    }
+
+    /**
+     * Devuelve el número de pedidos.
+     * @return número de pedidos.
+     */
+    public int getNumPedidos(){
+        return pedidos.length;
+    }
+
+    /**
+     * Devuelve una copia de la tabla de costes.
+     * @return tabla de costes de elaboración de cada pastel por cada pastelero.
+     */
+    public float[][] getTablaCostes(){
+        float[][] copia = new float[tablaCostes.length][];
+        for(int k=0; k<tablaCostes.length; k++) copia[k] = tablaCostes[k].clone();
+        return copia;
+    }
+
+    /**
+     * Devuelve una copia de la lista de pedidos.
+     * @return tipo de pastel de cada pedido, empezando en 1.
+     */
+    public int[] getPedidos(){
+        return pedidos.clone();
+    }
+
+    /**
+     * Acceso sin copia a la tabla de costes para los algoritmos del paquete, que no deben modificarla.
+     * @return tabla de costes.
+     */
+    float[][] tablaCostes(){
+        return tablaCostes;
+    }
+
+    /**
+     * Acceso sin copia a la lista de pedidos para los algoritmos del paquete, que no deben modificarla.
+     * @return lista de pedidos.
+     */
+    int[] pedidos(){
+        return pedidos;
+    }
+}
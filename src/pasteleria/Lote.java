@@ -0,0 +1,189 @@
+package pasteleria;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resolución por lotes de muchas instancias en una única ejecución del programa, evitando el arranque de la máquina
+ * virtual y la lectura con trazas de cada fichero. La entrada es un fichero con varias instancias seguidas o un
+ * directorio cuyos ficheros, en orden alfabético, contienen una o varias instancias. Cada instancia ocupa las 3+p líneas
+ * que indica su número de pasteleros 'p' y se puede separar de la siguiente con líneas en blanco; una línea en blanco
+ * dentro de una instancia la termina, de forma que una instancia mal formada no arrastra a las siguientes.
+ * Las instancias se resuelven en un pool fijo de trabajadores y los resultados se escriben en el orden de entrada a
+ * medida que están disponibles. Como mucho hay PENDIENTES_POR_TRABAJADOR instancias por trabajador leídas y sin
+ * escribir, por lo que la memoria no depende del tamaño del lote. Un error en una instancia se escribe en su lugar y no
+ * detiene el resto del lote.
+ * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
+ * @author Asier Rodríguez López
+ * @version 1.0
+ * @since 2.0
+ * @see pasteleria.Solucionador
+ */
+final class Lote {
+
+    /**
+     * Número de instancias por trabajador que se leen por adelantado sin haber escrito su resultado.
+     */
+    static final int PENDIENTES_POR_TRABAJADOR = 4;
+
+    /**
+     * Solucionador con el que se resuelve cada instancia. Se utiliza desde varios hilos a la vez.
+     */
+    private final Solucionador solucionador;
+
+    /**
+     * Número de trabajadores del pool.
+     */
+    private final int trabajadores;
+
+    /**
+     * Indica si se escriben las estadísticas de cada resolución tras su resultado.
+     */
+    private final boolean estadisticas;
+
+    /**
+     * Número de instancias leídas en la última resolución.
+     */
+    private int instancias;
+
+    /**
+     * Número de instancias con error desde la última resolución por lotes.
+     */
+    private final AtomicInteger errores = new AtomicInteger();
+
+    /**
+     * Crea el lote.
+     * @param solucionador solucionador con el que se resuelve cada instancia, que debe admitir varios hilos a la vez.
+     * @param trabajadores número de trabajadores del pool.
+     * @param estadisticas indica si se escriben las estadísticas de cada resolución.
+     * @throws IllegalArgumentException si el número de trabajadores es menor a 1.
+     */
+    Lote(Solucionador solucionador, int trabajadores, boolean estadisticas){
+        if(trabajadores < 1) throw new IllegalArgumentException("ERROR: el número de trabajadores no puede ser menor a 1.");
+        this.solucionador = solucionador;
+        this.trabajadores = trabajadores;
+        this.estadisticas = estadisticas;
+    }
+
+    /**
+     * Resuelve todas las instancias de la entrada y escribe sus resultados en el orden de entrada.
+     * @param entrada fichero con una o varias instancias, o directorio con ficheros de instancias.
+     * @param salida destino de los resultados.
+     * @throws IOException si no es posible leer algún fichero de la entrada.
+     * @throws InterruptedException si se interrumpe la espera de un resultado.
+     * @throws ExecutionException si falla la tarea de una instancia fuera de su resolución.
+     */
+    void resolver(File entrada, PrintStream salida) throws IOException, InterruptedException, ExecutionException {
+        File[] ficheros = entrada.isDirectory() ? entrada.listFiles(File::isFile) : new File[]{entrada};
+        if(ficheros == null) throw new IOException("ERROR: no se puede leer el directorio de entrada => "+entrada);
+        Arrays.sort(ficheros);
+
+        instancias = 0;
+        errores.set(0);
+        ExecutorService pool = Executors.newFixedThreadPool(trabajadores);
+        ArrayDeque<Future<String>> enCurso = new ArrayDeque<>();
+        try {
+            for(File fichero: ficheros){
+                try(BufferedReader lector = new BufferedReader(new FileReader(fichero))){
+                    String datos;
+                    for(int numero=1; (datos = siguienteInstancia(lector)) != null; numero++){
+                        String nombre = fichero.getName()+"#"+numero, bloque = datos;
+                        enCurso.add(pool.submit(() -> resolverInstancia(nombre, bloque)));
+                        instancias++;
+                        //Se escribe el resultado más antiguo antes de seguir leyendo si se ha llegado al límite
+                        if(enCurso.size() >= trabajadores*PENDIENTES_POR_TRABAJADOR) salida.print(enCurso.poll().get());
+                    }
+                }
+            }
+            while(!enCurso.isEmpty()) salida.print(enCurso.poll().get());
+            salida.flush();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Lee la siguiente instancia de la entrada, saltando las líneas en blanco previas. La instancia termina tras las
+     * 3+p líneas que indica su primera línea, en una línea en blanco o al final de la entrada.
+     * @param lector lector de la entrada.
+     * @return datos de la instancia con el formato de los ficheros de entrada, o null si no quedan instancias.
+     * @throws IOException si no es posible leer la entrada.
+     */
+    static String siguienteInstancia(BufferedReader lector) throws IOException {
+        String linea = lector.readLine();
+        while(linea != null && linea.isBlank()) linea = lector.readLine();
+        if(linea == null) return null;
+
+        //Si la primera línea no es un número de pasteleros la instancia llega hasta la siguiente línea en blanco
+        int lineas = linea.matches("^[0-9]{1,9}$") ? 3+Integer.parseInt(linea) : Integer.MAX_VALUE;
+        StringBuilder datos = new StringBuilder(linea).append("\n");
+        for(int i=1; i<lineas; i++){
+            linea = lector.readLine();
+            if(linea == null || linea.isBlank()) break;
+            datos.append(linea).append("\n");
+        }
+        return datos.toString();
+    }
+
+    /**
+     * Valida y resuelve una instancia del lote. Los errores se devuelven como parte de su salida.
+     * @param nombre nombre de la instancia: fichero y posición dentro de él.
+     * @param datos datos de la instancia con el formato de los ficheros de entrada.
+     * @return salida de la instancia: su nombre seguido del resultado, o del mensaje de error.
+     */
+    private String resolverInstancia(String nombre, String datos){
+        return "SYSTEM: instancia "+nombre+"\n"+responder(datos)+"\n";
+    }
+
+    /**
+     * Valida y resuelve una instancia y devuelve su resultado, o el mensaje de error si no es válida o falla su
+     * resolución. Se puede llamar desde varios hilos a la vez.
+     * @param datos datos de la instancia con el formato de los ficheros de entrada.
+     * @return pasteleros asignados y coste, seguidos de las estadísticas si se han pedido, o mensaje de error; cada
+     * línea termina en salto de línea.
+     */
+    String responder(String datos){
+        StringBuilder salida = new StringBuilder();
+        try {
+            Resultado resultado = solucionador.resolver(Pasteleria.sonValidosDatosFichero(datos));
+            if(!resultado.esOptima())
+                salida.append(String.format("SYSTEM: la búsqueda no se ha completado, la solución puede no ser óptima. Cota inferior %s, hueco %.2f%%%n",
+                        resultado.getCotaInferior(), 100d*resultado.getHueco()));
+            salida.append(resultado.formatear()).append("\n");
+            if(estadisticas && resultado.getEstadisticas() != null)
+                salida.append(resultado.getEstadisticas().formatear(resultado.getCoste())).append("\n");
+        } catch (Throwable e) {
+            //También los errores de la máquina virtual, como la falta de memoria, se limitan a la instancia que los causa
+            errores.incrementAndGet();
+            String mensaje = e.getMessage() == null || e instanceof Error ? e.toString() : e.getMessage().trim();
+            salida.append(mensaje.startsWith("ERROR: ") ? mensaje : "ERROR: error inesperado => "+mensaje).append("\n");
+        }
+        return salida.toString();
+    }
+
+    /**
+     * Devuelve el número de instancias leídas en la última resolución.
+     * @return número de instancias.
+     */
+    int getInstancias(){
+        return instancias;
+    }
+
+    /**
+     * Devuelve el número de instancias con error en la última resolución.
+     * @return número de instancias con error.
+     */
+    int getErrores(){
+        return errores.get();
+    }
+}
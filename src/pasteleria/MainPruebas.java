@@ -21,9 +21,6 @@ public class MainPruebas {
                 System.out.println("TIEMPO-INI: "+new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS").format(new java.util.Date()));
                 pasteleria.Pasteleria.main(caso);
                 System.out.println("TIEMPO-FIN: "+new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS").format(new java.util.Date()));
-                pasteleria.Pasteleria.existeFicheroEntrada = false;
-                pasteleria.Pasteleria.existeFicheroSalida = false;
-                pasteleria.Pasteleria.trazasActivas = false;
                 System.out.println("-----------------------------------------------------------------------------------");
             });
 
@@ -0,0 +1,402 @@
+package pasteleria;
+
+import java.util.Arrays;
+
+/**
+ * Montículo min-max para los nodos del algoritmo de ramificación y poda: permite extraer tanto el nodo de menor
+ * estimación optimista como el de mayor. Los niveles pares del árbol cumplen la propiedad de montículo de mínimos y
+ * los impares la de máximos, de forma que el mínimo está en la raíz y el máximo en uno de sus dos hijos.
+ * Cuando la cota baja, los nodos del montículo cuya estimación la supera ya no pueden llevar a la solución; en lugar de
+ * esperar a que lleguen a la cima, se eliminan desde el extremo de los máximos con podar. También permite limitar el
+ * tamaño de la frontera descartando los peores nodos.
+ * Igual que en MonticuloNodos, las claves se guardan en un vector de float paralelo al vector de nodos y los elementos
+ * se desplazan en lugar de intercambiarse, y a igualdad de clave se compara la clave secundaria del criterio de
+ * desempate. El orden de los niveles de máximos es el inverso del completo, por lo que el máximo es el último nodo que
+ * saldría por la cima.
+ * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
+ * @author Asier Rodríguez López
+ * @version 1.0
+ * @since 2.0
+ * @see pasteleria.MonticuloNodos
+ * @see pasteleria.Desempate
+ */
+public class MonticuloMinMax {
+
+    /**
+     * Capacidad inicial de los vectores del montículo.
+     */
+    private static final int CAPACIDAD_INICIAL = 64;
+
+    /**
+     * Clave de cada posición del montículo.
+     */
+    private float[] claves;
+
+    /**
+     * Clave secundaria de cada posición del montículo.
+     */
+    private long[] desempates;
+
+    /**
+     * Nodo de cada posición del montículo.
+     */
+    private Nodo[] nodos;
+
+    /**
+     * Número de elementos en el montículo.
+     */
+    private int tamano;
+
+    /**
+     * Criterio de desempate entre nodos con la misma clave.
+     */
+    private final Desempate desempate;
+
+    /**
+     * Crea un montículo vacío con la capacidad inicial por defecto y sin desempate.
+     */
+    public MonticuloMinMax(){
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Crea un montículo vacío con la capacidad inicial por defecto.
+     * @param desempate criterio de desempate entre nodos con la misma clave.
+     */
+    public MonticuloMinMax(Desempate desempate){
+        this(CAPACIDAD_INICIAL, desempate);
+    }
+
+    /**
+     * Crea un montículo vacío con la capacidad inicial indicada y sin desempate.
+     * @param capacidad capacidad inicial del montículo.
+     * @throws IllegalArgumentException si la capacidad es menor a 1.
+     */
+    public MonticuloMinMax(int capacidad){
+        this(capacidad, Desempate.NINGUNO);
+    }
+
+    /**
+     * Crea un montículo vacío con la capacidad inicial indicada.
+     * @param capacidad capacidad inicial del montículo.
+     * @param desempate criterio de desempate entre nodos con la misma clave.
+     * @throws IllegalArgumentException si la capacidad es menor a 1.
+     */
+    public MonticuloMinMax(int capacidad, Desempate desempate){
+        if(capacidad < 1) throw new IllegalArgumentException("ERROR: el tamaño del montículo no puede ser menor a 1.");
+        this.claves     = new float[capacidad];
+        this.desempates = new long[capacidad];
+        this.nodos      = new Nodo[capacidad];
+        this.tamano     = 0;
+        this.desempate  = desempate;
+    }
+
+    /**
+     * El montículo está vacío si no tiene elementos.
+     * Complejidad temporal constante O(1).
+     * @return true si montículo vacío.
+     */
+    public boolean elMonticuloEstaVacio(){
+        return tamano == 0;
+    }
+
+    /**
+     * Devuelve el número de elementos del montículo.
+     * Complejidad temporal constante O(1).
+     * @return número de elementos del montículo.
+     */
+    public int tamano(){
+        return tamano;
+    }
+
+    /**
+     * Inserta un nodo en el montículo utilizando como clave su estimación optimista. Si los vectores están llenos se
+     * duplica su capacidad, por lo que el coste amortizado de la inserción es O(log(n)).
+     * @param nodo nodo a insertar.
+     * @throws IllegalArgumentException si el nodo es nulo.
+     */
+    public void insertar(Nodo nodo){
+        if(nodo == null) throw new IllegalArgumentException("ERROR: no se puede insertar un elemento nulo.");
+        if(tamano == claves.length){
+            claves     = Arrays.copyOf(claves, tamano*2);
+            desempates = Arrays.copyOf(desempates, tamano*2);
+            nodos      = Arrays.copyOf(nodos, tamano*2);
+        }
+        int hueco   = tamano++;
+        float clave = nodo.estOpt;
+        long sec    = desempate.clave(nodo);
+        if(hueco == 0){
+            colocar(0, clave, sec, nodo);
+            return;
+        }
+        //Si el nodo no respeta el orden con su padre, el padre baja a su posición y el nodo sube por el otro tipo de nivel
+        int padre = (hueco-1) >>> 1;
+        if(esNivelMinimos(hueco)){
+            if(precede(claves[padre], desempates[padre], clave, sec)){
+                mover(padre, hueco);
+                flotarMaximos(padre, clave, sec, nodo);
+            }
+            else flotarMinimos(hueco, clave, sec, nodo);
+        }
+        else{
+            if(precede(clave, sec, claves[padre], desempates[padre])){
+                mover(padre, hueco);
+                flotarMinimos(padre, clave, sec, nodo);
+            }
+            else flotarMaximos(hueco, clave, sec, nodo);
+        }
+    }
+
+    /**
+     * Devuelve la clave de la cima del montículo sin modificarlo.
+     * Complejidad temporal constante O(1).
+     * @return menor clave del montículo.
+     */
+    public float claveCima(){
+        return claves[0];
+    }
+
+    /**
+     * Devuelve la cima del montículo sin modificarlo.
+     * Complejidad temporal constante O(1).
+     * @return nodo de menor clave del montículo.
+     */
+    public Nodo mostrarCima(){
+        return nodos[0];
+    }
+
+    /**
+     * Devuelve la cima del montículo, la elimina y recompone la propiedad de montículo.
+     * Complejidad temporal O(log(n)).
+     * @return nodo de menor clave del montículo.
+     */
+    public Nodo obtenerCima(){
+        Nodo cima = nodos[0];
+        tamano--;
+        float clave = claves[tamano];
+        long sec    = desempates[tamano];
+        Nodo ultimo = nodos[tamano];
+        nodos[tamano] = null; //Se libera la referencia
+        if(tamano > 0) hundirMinimos(0, clave, sec, ultimo);
+        return cima;
+    }
+
+    /**
+     * Devuelve la mayor clave del montículo sin modificarlo.
+     * Complejidad temporal constante O(1).
+     * @return mayor clave del montículo.
+     */
+    public float claveMaxima(){
+        return claves[posicionMaximo()];
+    }
+
+    /**
+     * Devuelve el nodo de mayor clave, lo elimina y recompone la propiedad de montículo.
+     * Complejidad temporal O(log(n)).
+     * @return nodo de mayor clave del montículo.
+     */
+    public Nodo obtenerMaximo(){
+        int posicion = posicionMaximo();
+        Nodo maximo  = nodos[posicion];
+        tamano--;
+        float clave = claves[tamano];
+        long sec    = desempates[tamano];
+        Nodo ultimo = nodos[tamano];
+        nodos[tamano] = null; //Se libera la referencia
+        if(posicion < tamano) hundirMaximos(posicion, clave, sec, ultimo);
+        return maximo;
+    }
+
+    /**
+     * Elimina todos los nodos cuya clave supera la cota, empezando por el de mayor clave.
+     * Complejidad temporal O(k*log(n)), donde 'k' es el número de nodos eliminados.
+     * @param cota clave máxima de los nodos que se conservan.
+     * @return número de nodos eliminados.
+     */
+    public int podar(float cota){
+        int eliminados = 0;
+        while(tamano > 0 && claveMaxima() > cota){
+            obtenerMaximo();
+            eliminados++;
+        }
+        return eliminados;
+    }
+
+    /**
+     * Posición del nodo de mayor clave: la raíz si es el único nodo y, si no, el mayor de sus hijos.
+     * @return posición del máximo.
+     */
+    private int posicionMaximo(){
+        if(tamano == 1) return 0;
+        if(tamano == 2) return 1;
+        return antes(1, 2) ? 2 : 1;
+    }
+
+    /**
+     * Indica si un nodo con la primera clave y clave secundaria sale del montículo antes que uno con las segundas:
+     * tiene menor clave o, a igual clave, menor clave secundaria.
+     * @param clave1 clave del primer nodo.
+     * @param sec1 clave secundaria del primer nodo.
+     * @param clave2 clave del segundo nodo.
+     * @param sec2 clave secundaria del segundo nodo.
+     * @return true si el primer nodo va antes.
+     */
+    private static boolean precede(float clave1, long sec1, float clave2, long sec2){
+        return clave1 < clave2 || (clave1 == clave2 && sec1 < sec2);
+    }
+
+    /**
+     * Indica si el elemento de la primera posición sale del montículo antes que el de la segunda.
+     * @param posicion1 primera posición.
+     * @param posicion2 segunda posición.
+     * @return true si el elemento de la primera posición va antes.
+     */
+    private boolean antes(int posicion1, int posicion2){
+        return precede(claves[posicion1], desempates[posicion1], claves[posicion2], desempates[posicion2]);
+    }
+
+    /**
+     * Indica si la posición está en un nivel de mínimos (nivel par, empezando en cero en la raíz).
+     * @param posicion posición en el montículo.
+     * @return true si es un nivel de mínimos.
+     */
+    private static boolean esNivelMinimos(int posicion){
+        return ((31 - Integer.numberOfLeadingZeros(posicion+1)) & 1) == 0;
+    }
+
+    /**
+     * Copia el elemento de una posición en otra.
+     * @param origen posición del elemento a copiar.
+     * @param destino posición en la que se copia.
+     */
+    private void mover(int origen, int destino){
+        claves[destino]     = claves[origen];
+        desempates[destino] = desempates[origen];
+        nodos[destino]      = nodos[origen];
+    }
+
+    /**
+     * Coloca un nodo en una posición.
+     * @param posicion posición del montículo.
+     * @param clave clave del nodo.
+     * @param sec clave secundaria del nodo.
+     * @param nodo nodo a colocar.
+     */
+    private void colocar(int posicion, float clave, long sec, Nodo nodo){
+        claves[posicion]     = clave;
+        desempates[posicion] = sec;
+        nodos[posicion]      = nodo;
+    }
+
+    /**
+     * Sube el hueco por los niveles de mínimos mientras el nodo deba salir antes que el abuelo y coloca el nodo en la
+     * posición final. Complejidad temporal O(log(n)).
+     * @param hueco posición inicial del nodo, en un nivel de mínimos.
+     * @param clave clave del nodo.
+     * @param sec clave secundaria del nodo.
+     * @param nodo nodo a colocar.
+     */
+    private void flotarMinimos(int hueco, float clave, long sec, Nodo nodo){
+        while(hueco > 2){
+            int abuelo = (((hueco-1) >>> 1) - 1) >>> 1;
+            if(!precede(clave, sec, claves[abuelo], desempates[abuelo])) break;
+            mover(abuelo, hueco);
+            hueco = abuelo;
+        }
+        colocar(hueco, clave, sec, nodo);
+    }
+
+    /**
+     * Sube el hueco por los niveles de máximos mientras el abuelo deba salir antes que el nodo y coloca el nodo en la
+     * posición final. Complejidad temporal O(log(n)).
+     * @param hueco posición inicial del nodo, en un nivel de máximos.
+     * @param clave clave del nodo.
+     * @param sec clave secundaria del nodo.
+     * @param nodo nodo a colocar.
+     */
+    private void flotarMaximos(int hueco, float clave, long sec, Nodo nodo){
+        while(hueco > 2){
+            int abuelo = (((hueco-1) >>> 1) - 1) >>> 1;
+            if(!precede(claves[abuelo], desempates[abuelo], clave, sec)) break;
+            mover(abuelo, hueco);
+            hueco = abuelo;
+        }
+        colocar(hueco, clave, sec, nodo);
+    }
+
+    /**
+     * Baja el hueco de una posición de un nivel de mínimos hacia el menor de sus hijos y nietos mientras este deba
+     * salir antes que el nodo, y coloca el nodo en la posición final. Si al bajar a un nieto el nodo es mayor que el
+     * padre del nieto, se intercambia con él para respetar el nivel de máximos. Complejidad temporal O(log(n)).
+     * @param hueco posición inicial del nodo, en un nivel de mínimos.
+     * @param clave clave del nodo.
+     * @param sec clave secundaria del nodo.
+     * @param nodo nodo a colocar.
+     */
+    private void hundirMinimos(int hueco, float clave, long sec, Nodo nodo){
+        while(true){
+            int hijo = 2*hueco+1;
+            if(hijo >= tamano) break;
+            int menor = hijo;
+            if(hijo+1 < tamano && antes(hijo+1, menor)) menor = hijo+1;
+            int nieto = 2*hijo+1;
+            for(int n=nieto; n<nieto+4 && n<tamano; n++)
+                if(antes(n, menor)) menor = n;
+            if(!precede(claves[menor], desempates[menor], clave, sec)) break;
+
+            mover(menor, hueco);
+            hueco = menor;
+            if(menor < nieto) break; //Un hijo no tiene descendientes menores que él
+
+            int padre = (menor-1) >>> 1;
+            if(precede(claves[padre], desempates[padre], clave, sec)){
+                float claveP = claves[padre];
+                long secP    = desempates[padre];
+                Nodo nodoP   = nodos[padre];
+                colocar(padre, clave, sec, nodo);
+                clave = claveP;
+                sec   = secP;
+                nodo  = nodoP;
+            }
+        }
+        colocar(hueco, clave, sec, nodo);
+    }
+
+    /**
+     * Baja el hueco de una posición de un nivel de máximos hacia el mayor de sus hijos y nietos mientras este deba
+     * salir después que el nodo, y coloca el nodo en la posición final. Si al bajar a un nieto el nodo es menor que el padre del
+     * nieto, se intercambia con él para respetar el nivel de mínimos. Complejidad temporal O(log(n)).
+     * @param hueco posición inicial del nodo, en un nivel de máximos.
+     * @param clave clave del nodo.
+     * @param sec clave secundaria del nodo.
+     * @param nodo nodo a colocar.
+     */
+    private void hundirMaximos(int hueco, float clave, long sec, Nodo nodo){
+        while(true){
+            int hijo = 2*hueco+1;
+            if(hijo >= tamano) break;
+            int mayor = hijo;
+            if(hijo+1 < tamano && antes(mayor, hijo+1)) mayor = hijo+1;
+            int nieto = 2*hijo+1;
+            for(int n=nieto; n<nieto+4 && n<tamano; n++)
+                if(antes(mayor, n)) mayor = n;
+            if(!precede(clave, sec, claves[mayor], desempates[mayor])) break;
+
+            mover(mayor, hueco);
+            hueco = mayor;
+            if(mayor < nieto) break; //Un hijo no tiene descendientes mayores que él
+
+            int padre = (mayor-1) >>> 1;
+            if(precede(clave, sec, claves[padre], desempates[padre])){
+                float claveP = claves[padre];
+                long secP    = desempates[padre];
+                Nodo nodoP   = nodos[padre];
+                colocar(padre, clave, sec, nodo);
+                clave = claveP;
+                sec   = secP;
+                nodo  = nodoP;
+            }
+        }
+        colocar(hueco, clave, sec, nodo);
+    }
+}
@@ -0,0 +1,231 @@
+package pasteleria;
+
+import java.util.Arrays;
+
+/**
+ * Montículo de mínimos especializado para los nodos del algoritmo de ramificación y poda. A diferencia de Monticulo,
+ * la clave de cada nodo (su estimación optimista) se guarda en un vector de float paralelo al vector de nodos, de
+ * forma que las comparaciones se hacen sobre tipos primitivos sin pasar por compareTo ni por los métodos de
+ * ArrayList. Los elementos se desplazan en lugar de intercambiarse al flotar y hundir.
+ * A igualdad de clave se compara una clave secundaria de tipo long, calculada al insertar según el criterio de
+ * desempate del montículo.
+ * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
+ * @author Asier Rodríguez López
+ * @version 1.0
+ * @since 2.0
+ * @see pasteleria.Monticulo
+ * @see pasteleria.Desempate
+ */
+public class MonticuloNodos {
+
+    /**
+     * Capacidad inicial de los vectores del montículo.
+     */
+    private static final int CAPACIDAD_INICIAL = 64;
+
+    /**
+     * Clave de cada posición del montículo.
+     */
+    private float[] claves;
+
+    /**
+     * Clave secundaria de cada posición del montículo.
+     */
+    private long[] desempates;
+
+    /**
+     * Nodo de cada posición del montículo.
+     */
+    private Nodo[] nodos;
+
+    /**
+     * Número de elementos en el montículo.
+     */
+    private int tamano;
+
+    /**
+     * Criterio de desempate entre nodos con la misma clave.
+     */
+    private final Desempate desempate;
+
+    /**
+     * Crea un montículo vacío con la capacidad inicial por defecto y sin desempate.
+     */
+    public MonticuloNodos(){
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Crea un montículo vacío con la capacidad inicial por defecto.
+     * @param desempate criterio de desempate entre nodos con la misma clave.
+     */
+    public MonticuloNodos(Desempate desempate){
+        this(CAPACIDAD_INICIAL, desempate);
+    }
+
+    /**
+     * Crea un montículo vacío con la capacidad inicial indicada y sin desempate.
+     * @param capacidad capacidad inicial del montículo.
+     * @throws IllegalArgumentException si la capacidad es menor a 1.
+     */
+    public MonticuloNodos(int capacidad){
+        this(capacidad, Desempate.NINGUNO);
+    }
+
+    /**
+     * Crea un montículo vacío con la capacidad inicial indicada.
+     * @param capacidad capacidad inicial del montículo.
+     * @param desempate criterio de desempate entre nodos con la misma clave.
+     * @throws IllegalArgumentException si la capacidad es menor a 1.
+     */
+    public MonticuloNodos(int capacidad, Desempate desempate){
+        if(capacidad < 1) throw new IllegalArgumentException("ERROR: el tamaño del montículo no puede ser menor a 1.");
+        this.claves     = new float[capacidad];
+        this.desempates = new long[capacidad];
+        this.nodos      = new Nodo[capacidad];
+        this.tamano     = 0;
+        this.desempate  = desempate;
+    }
+
+    /**
+     * El montículo está vacío si no tiene elementos.
+     * Complejidad temporal constante O(1).
+     * @return true si montículo vacío.
+     */
+    public boolean elMonticuloEstaVacio(){
+        return tamano == 0;
+    }
+
+    /**
+     * Devuelve el número de elementos del montículo.
+     * Complejidad temporal constante O(1).
+     * @return número de elementos del montículo.
+     */
+    public int tamano(){
+        return tamano;
+    }
+
+    /**
+     * Inserta un nodo en el montículo utilizando como clave su estimación optimista. Si los vectores están llenos se
+     * duplica su capacidad, por lo que el coste amortizado de la inserción es O(log(n)).
+     * @param nodo nodo a insertar.
+     * @throws IllegalArgumentException si el nodo es nulo.
+     */
+    public void insertar(Nodo nodo){
+        if(nodo == null) throw new IllegalArgumentException("ERROR: no se puede insertar un elemento nulo.");
+        if(tamano == claves.length){
+            claves     = Arrays.copyOf(claves, tamano*2);
+            desempates = Arrays.copyOf(desempates, tamano*2);
+            nodos      = Arrays.copyOf(nodos, tamano*2);
+        }
+        flotar(tamano++, nodo.estOpt, desempate.clave(nodo), nodo);
+    }
+
+    /**
+     * Devuelve la clave de la cima del montículo sin modificarlo.
+     * Complejidad temporal constante O(1).
+     * @return menor clave del montículo.
+     */
+    public float claveCima(){
+        return claves[0];
+    }
+
+    /**
+     * Devuelve la cima del montículo sin modificarlo.
+     * Complejidad temporal constante O(1).
+     * @return nodo de menor clave del montículo.
+     */
+    public Nodo mostrarCima(){
+        return nodos[0];
+    }
+
+    /**
+     * Devuelve la cima del montículo, la elimina y recompone la propiedad de montículo.
+     * Complejidad temporal O(log(n)).
+     * @return nodo de menor clave del montículo.
+     */
+    public Nodo obtenerCima(){
+        Nodo cima = nodos[0];
+        tamano--;
+        float clave = claves[tamano];
+        long sec    = desempates[tamano];
+        Nodo ultimo = nodos[tamano];
+        nodos[tamano] = null; //Se libera la referencia
+        if(tamano > 0) hundir(0, clave, sec, ultimo);
+        return cima;
+    }
+
+    /**
+     * Indica si el elemento de la posición indicada debe salir antes que un nodo con la clave y la clave secundaria
+     * dadas: tiene menor clave o, a igual clave, menor clave secundaria.
+     * @param posicion posición en el montículo.
+     * @param clave clave del otro nodo.
+     * @param sec clave secundaria del otro nodo.
+     * @return true si el elemento de la posición va antes.
+     */
+    private boolean antes(int posicion, float clave, long sec){
+        return claves[posicion] < clave || (claves[posicion] == clave && desempates[posicion] < sec);
+    }
+
+    /**
+     * Copia el elemento de una posición en otra.
+     * @param origen posición del elemento a copiar.
+     * @param destino posición en la que se copia.
+     */
+    private void mover(int origen, int destino){
+        claves[destino]     = claves[origen];
+        desempates[destino] = desempates[origen];
+        nodos[destino]      = nodos[origen];
+    }
+
+    /**
+     * Coloca un nodo en una posición.
+     * @param posicion posición del montículo.
+     * @param clave clave del nodo.
+     * @param sec clave secundaria del nodo.
+     * @param nodo nodo a colocar.
+     */
+    private void colocar(int posicion, float clave, long sec, Nodo nodo){
+        claves[posicion]     = clave;
+        desempates[posicion] = sec;
+        nodos[posicion]      = nodo;
+    }
+
+    /**
+     * Sube el hueco de la posición indicada mientras el nodo deba salir antes que el padre y coloca el nodo en la
+     * posición final. Complejidad temporal O(log(n)).
+     * @param hueco posición inicial del nodo.
+     * @param clave clave del nodo.
+     * @param sec clave secundaria del nodo.
+     * @param nodo nodo a colocar.
+     */
+    private void flotar(int hueco, float clave, long sec, Nodo nodo){
+        while(hueco > 0){
+            int padre = (hueco-1) >>> 1;
+            if(!(clave < claves[padre] || (clave == claves[padre] && sec < desempates[padre]))) break;
+            mover(padre, hueco);
+            hueco = padre;
+        }
+        colocar(hueco, clave, sec, nodo);
+    }
+
+    /**
+     * Baja el hueco de la posición indicada mientras alguno de sus hijos deba salir antes que el nodo y coloca el nodo
+     * en la posición final. Complejidad temporal O(log(n)).
+     * @param hueco posición inicial del nodo.
+     * @param clave clave del nodo.
+     * @param sec clave secundaria del nodo.
+     * @param nodo nodo a colocar.
+     */
+    private void hundir(int hueco, float clave, long sec, Nodo nodo){
+        int mitad = tamano >>> 1;
+        while(hueco < mitad){
+            int hijo = 2*hueco+1;
+            if(hijo+1 < tamano && antes(hijo+1, claves[hijo], desempates[hijo])) hijo++;
+            if(!antes(hijo, clave, sec)) break;
+            mover(hijo, hueco);
+            hueco = hijo;
+        }
+        colocar(hueco, clave, sec, nodo);
+    }
+}
@@ -0,0 +1,81 @@
+package pasteleria;
+
+/**
+ * Motores de resolución disponibles para el problema de la pastelería.
+ * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
+ * @author Asier Rodríguez López
+ * @version 1.0
+ * @since 2.0
+ */
+public enum Motor {
+
+    /**
+     * Algoritmo de ramificación y poda.
+     */
+    RAMIFICACION("rp"),
+
+    /**
+     * Algoritmo húngaro, exacto y de coste polinómico.
+     * @see pasteleria.Hungaro
+     */
+    HUNGARO("hungaro"),
+
+    /**
+     * Problema de transporte por tipos de pastel, exacto y adecuado para muchos pedidos con pocos tipos de pasteles.
+     * @see pasteleria.Transporte
+     */
+    TRANSPORTE("transporte"),
+
+    /**
+     * Programación dinámica sobre subconjuntos de pasteleros, exacta y de coste garantizado O(2^p*p) para instancias
+     * pequeñas y medianas.
+     * @see pasteleria.ProgramacionDinamica
+     */
+    PROGRAMACION_DINAMICA("dp"),
+
+    /**
+     * Algoritmo de subasta con escalado de 'ε', exacto para costes con pocos decimales y con pujas en paralelo,
+     * adecuado para instancias con muchos pedidos.
+     * @see pasteleria.Subasta
+     */
+    SUBASTA("subasta"),
+
+    /**
+     * Se elige para cada instancia la programación dinámica si, tras descartar los pasteleros que no pueden intervenir
+     * en la solución óptima, quedan como mucho ProgramacionDinamica.LIMITE_AUTOMATICO y, si no, la ramificación y poda.
+     */
+    AUTOMATICO("auto");
+
+    /**
+     * Valor con el que se indica el motor en los argumentos de inicio del programa.
+     */
+    private final String argumento;
+
+    /**
+     * Constructor del motor.
+     * @param argumento valor con el que se indica en los argumentos de inicio del programa.
+     */
+    Motor(String argumento){
+        this.argumento = argumento;
+    }
+
+    /**
+     * Devuelve el motor correspondiente al valor indicado en los argumentos de inicio del programa.
+     * @param argumento valor indicado en los argumentos de inicio.
+     * @return motor correspondiente.
+     * @throws IllegalArgumentException si el valor no corresponde a ningún motor.
+     */
+    public static Motor desdeArgumento(String argumento){
+        for(Motor motor: values())
+            if(motor.argumento.equalsIgnoreCase(argumento)) return motor;
+        throw new IllegalArgumentException("ERROR: motor no válido => "+argumento);
+    }
+
+    /**
+     * Devuelve el valor con el que se indica el motor en los argumentos de inicio del programa.
+     * @return valor del argumento.
+     */
+    public String getArgumento(){
+        return this.argumento;
+    }
+}
@@ -0,0 +1,150 @@
+package pasteleria;
+
+/**
+ * Clase creada exprofeso para ser un nodo en el árbol implícito del algoritmo de ramificación y poda que resuelve el
+ * problema de la pastelería.
+ * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
+ * @author Asier Rodríguez López
+ * @version 1.0
+ * @since 2.0
+ */
+class Nodo implements Comparable<Nodo>{
+
+    /**
+     * Número de pasteleros a partir del cual los pasteleros ocupados se guardan en asignadosExt.
+     */
+    static final int MAX_PASTELEROS_MASCARA = 64;
+
+    /**
+     * Pasteleros ocupados, el bit k a 1 indica que el pastelero k está ocupado. Se utiliza cuando hay como mucho
+     * MAX_PASTELEROS_MASCARA pasteleros.
+     */
+    long asignados;
+
+    /**
+     * Pasteleros ocupados cuando hay más de MAX_PASTELEROS_MASCARA pasteleros, null en caso contrario. El bit k del
+     * elemento k/64 a 1 indica que el pastelero k está ocupado.
+     */
+    long[] asignadosExt;
+
+    /**
+     * Posición en la arena de asignaciones de la asignación parcial de este nodo. ArenaAsignaciones.RAIZ si todavía no
+     * se ha asignado ningún pastelero o el nodo no se ha insertado en el montículo.
+     */
+    int indice;
+
+    /**
+     * Pastelero asignado en este nodo, -1 en el nodo raíz. Se utiliza en la ruptura de simetrías.
+     */
+    int ultimoPastelero;
+
+    /**
+     * Número de nodo.
+     */
+    int numNodo;
+
+    /**
+     * Coste total en este nodo.
+     */
+    float costeTotal;
+
+    /**
+     * Estimación optimista en este nodo.
+     */
+    float estOpt;
+
+    /**
+     * Para cada tipo de pastel, posición en la tabla de pasteleros ordenados de Cotas del más caro de los pasteleros
+     * libres reservados para sus pedidos restantes, -1 si no quedan pedidos de ese tipo. Solo se utiliza con la cota de
+     * pasteleros libres y no se modifica una vez creado.
+     */
+    int[] posLimiteLibres;
+
+    /**
+     * Parte de la estimación optimista correspondiente a los pedidos no asignados: coste de los pasteleros libres
+     * reservados. Solo se utiliza con la cota de pasteleros libres.
+     */
+    float restoOpt;
+
+    /**
+     * Valor reducido de cada pedido en la reducción de la matriz de costes. Solo se utiliza con la cota reducida y no
+     * se modifica una vez creado.
+     */
+    float[] dualPedidos;
+
+    /**
+     * Valor reducido de cada pastelero en la reducción de la matriz de costes. Solo se utiliza con la cota reducida y
+     * no se modifica una vez creado.
+     */
+    float[] dualPasteleros;
+
+    /**
+     * Constructor vacío.
+     */
+    public Nodo(){
+        this.indice       = ArenaAsignaciones.RAIZ;
+        this.ultimoPastelero = -1;
+        this.numNodo      = 0;
+        this.costeTotal   = 0f;
+        this.estOpt       = 0f;
+    }
+
+    /**
+     * Constructor del nodo raíz, sin ningún pastelero ocupado.
+     * @param num_pasteleros número de pasteleros entre los que se reparten los pedidos.
+     */
+    public Nodo(int num_pasteleros){
+        this();
+        if(num_pasteleros > MAX_PASTELEROS_MASCARA)
+            this.asignadosExt = new long[(num_pasteleros+63) >>> 6];
+    }
+
+    /**
+     * Indica si el pastelero está ocupado en este nodo.
+     * @param pastelero pastelero a consultar.
+     * @return true si el pastelero está ocupado.
+     */
+    boolean estaAsignado(int pastelero){
+        if(asignadosExt == null) return (asignados & (1L << pastelero)) != 0;
+        return (asignadosExt[pastelero >>> 6] & (1L << pastelero)) != 0;
+    }
+
+    /**
+     * Genera el hijo que resulta de asignar el pastelero al siguiente pedido. El hijo no se añade a la arena de
+     * asignaciones, se hace al insertarlo en el montículo.
+     * @param pastelero pastelero asignado al siguiente pedido.
+     * @param costeTotal coste total del hijo.
+     * @return nodo hijo.
+     */
+    Nodo generarHijo(int pastelero, float costeTotal){
+        Nodo hijo       = new Nodo();
+        hijo.numNodo    = this.numNodo+1;
+        hijo.costeTotal = costeTotal;
+        hijo.ultimoPastelero = pastelero;
+        if(asignadosExt == null){
+            hijo.asignados = this.asignados | (1L << pastelero);
+        }
+        else{
+            hijo.asignadosExt = this.asignadosExt.clone();
+            hijo.asignadosExt[pastelero >>> 6] |= 1L << pastelero;
+        }
+        return hijo;
+    }
+
+    /**
+     * Método encargado de comparar dos objetos distintos.
+     * Se compara el parámetro de entrada contra el nodo que llama a la función para obtener un orden inverso en el
+     * montículo (de máximos). A igualdad de estimación optimista es mayor el nodo más profundo y, a igual profundidad,
+     * el de mayor coste acumulado, igual que con Desempate.PROFUNDIDAD, de forma que el orden no depende de la posición
+     * de los nodos en el montículo.
+     * @param nodo objeto a comparar.
+     * @return número entero positivo si el objeto es menor al comparado, cero si son iguales y positivo si es menor.
+     */
+    @Override
+    public int compareTo(Nodo nodo) {
+        int c = Float.compare(nodo.estOpt,this.estOpt);
+        if(c != 0) return c;
+        c = Integer.compare(this.numNodo,nodo.numNodo);
+        return c != 0 ? c : Float.compare(this.costeTotal,nodo.costeTotal);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,416 @@
+package pasteleria;
+
+/**
+ * Opciones de los algoritmos de ramificación y poda, secuencial y paralelo. Se crean con OpcionesRamificacion.nuevas(),
+ * que parte de las opciones por defecto y permite cambiar solo las necesarias:
+ * OpcionesRamificacion.nuevas().tipoCota(TipoCota.LIBRES).romperSimetrias(true).crear().
+ * Cada valor se valida al indicarlo. Las opciones son inmutables y se pueden compartir entre solucionadores.
+ * El presupuesto, la estrategia, el tamaño del montículo, la frontera y las trazas solo se aplican a la versión
+ * secuencial, y el número de hilos solo a la paralela.
+ * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
+ * @author Asier Rodríguez López
+ * @version 1.0
+ * @since 2.0
+ * @see pasteleria.RamificacionYPoda
+ * @see pasteleria.RamificacionYPodaParalela
+ */
+public final class OpcionesRamificacion {
+
+    /**
+     * Opciones por defecto: cota por columnas, sin trazas ni ruptura de simetrías, con poda por dominancia, sin
+     * presupuesto, primero el mejor, sin límite de frontera, pedidos en el orden de entrada, pasteleros por índice, sin
+     * desempate y un hilo.
+     */
+    public static final OpcionesRamificacion PREDETERMINADAS = nuevas().crear();
+
+    /**
+     * Tipo de estimación optimista.
+     */
+    private final TipoCota tipoCota;
+
+    /**
+     * Indica si se trazan los pasos del algoritmo.
+     */
+    private final boolean trazasActivas;
+
+    /**
+     * Indica si se rompen las simetrías entre pedidos del mismo tipo de pastel.
+     */
+    private final boolean romperSimetrias;
+
+    /**
+     * Indica si se descartan los nodos dominados por otro con los mismos pasteleros asignados y menor coste.
+     */
+    private final boolean dominancia;
+
+    /**
+     * Presupuesto de la búsqueda.
+     */
+    private final Presupuesto presupuesto;
+
+    /**
+     * Estrategia de recorrido del árbol de búsqueda.
+     */
+    private final Estrategia estrategia;
+
+    /**
+     * Tamaño del montículo a partir del cual la estrategia híbrida explora en profundidad.
+     */
+    private final int limiteMonticulo;
+
+    /**
+     * Tamaño máximo de la frontera de la búsqueda primero el mejor, 0 si no se limita.
+     */
+    private final int frontera;
+
+    /**
+     * Orden en que se asignan los pedidos.
+     */
+    private final OrdenPedidos ordenPedidos;
+
+    /**
+     * Orden en que se prueban los pasteleros de cada pedido.
+     */
+    private final OrdenPasteleros ordenPasteleros;
+
+    /**
+     * Criterio de desempate entre nodos con la misma estimación optimista en el montículo.
+     */
+    private final Desempate desempate;
+
+    /**
+     * Número de hilos de la versión paralela.
+     */
+    private final int hilos;
+
+    /**
+     * Crea las opciones a partir de los valores ya validados del creador.
+     * @param creador creador con los valores de las opciones.
+     */
+    private OpcionesRamificacion(Creador creador){
+        this.tipoCota        = creador.tipoCota;
+        this.trazasActivas   = creador.trazasActivas;
+        this.romperSimetrias = creador.romperSimetrias;
+        this.dominancia      = creador.dominancia;
+        this.presupuesto     = creador.presupuesto;
+        this.estrategia      = creador.estrategia;
+        this.limiteMonticulo = creador.limiteMonticulo;
+        this.frontera        = creador.frontera;
+        this.ordenPedidos    = creador.ordenPedidos;
+        this.ordenPasteleros = creador.ordenPasteleros;
+        this.desempate       = creador.desempate;
+        this.hilos           = creador.hilos;
+    }
+
+    /**
+     * Devuelve un creador que parte de las opciones por defecto.
+     * @return creador de opciones.
+     */
+    public static Creador nuevas(){
+        return new Creador();
+    }
+
+    /**
+     * Devuelve el tipo de estimación optimista.
+     * @return tipo de estimación optimista.
+     */
+    public TipoCota getTipoCota(){
+        return tipoCota;
+    }
+
+    /**
+     * Indica si se trazan los pasos del algoritmo.
+     * @return true si se trazan los pasos.
+     */
+    public boolean trazasActivas(){
+        return trazasActivas;
+    }
+
+    /**
+     * Indica si se rompen las simetrías entre pedidos del mismo tipo de pastel.
+     * @return true si se rompen las simetrías.
+     */
+    public boolean rompeSimetrias(){
+        return romperSimetrias;
+    }
+
+    /**
+     * Indica si se descartan los nodos dominados por otro con los mismos pasteleros asignados y menor coste.
+     * @see pasteleria.TablaDominancia
+     * @return true si se poda por dominancia.
+     */
+    public boolean podaDominancia(){
+        return dominancia;
+    }
+
+    /**
+     * Devuelve el presupuesto de la búsqueda.
+     * @return presupuesto de tiempo y nodos.
+     */
+    public Presupuesto getPresupuesto(){
+        return presupuesto;
+    }
+
+    /**
+     * Devuelve la estrategia de recorrido del árbol de búsqueda.
+     * @return estrategia de recorrido.
+     */
+    public Estrategia getEstrategia(){
+        return estrategia;
+    }
+
+    /**
+     * Devuelve el tamaño del montículo a partir del cual la estrategia híbrida explora en profundidad.
+     * @return tamaño máximo del montículo.
+     */
+    public int getLimiteMonticulo(){
+        return limiteMonticulo;
+    }
+
+    /**
+     * Devuelve el tamaño máximo de la frontera de la búsqueda primero el mejor.
+     * @return tamaño máximo de la frontera, 0 si no se limita.
+     */
+    public int getFrontera(){
+        return frontera;
+    }
+
+    /**
+     * Devuelve el orden en que se asignan los pedidos.
+     * @return orden de los pedidos.
+     */
+    public OrdenPedidos getOrdenPedidos(){
+        return ordenPedidos;
+    }
+
+    /**
+     * Devuelve el orden en que se prueban los pasteleros de cada pedido.
+     * @return orden de los pasteleros.
+     */
+    public OrdenPasteleros getOrdenPasteleros(){
+        return ordenPasteleros;
+    }
+
+    /**
+     * Devuelve el criterio de desempate entre nodos con la misma estimación optimista en el montículo.
+     * @return criterio de desempate.
+     */
+    public Desempate getDesempate(){
+        return desempate;
+    }
+
+    /**
+     * Devuelve el número de hilos de la versión paralela.
+     * @return número de hilos.
+     */
+    public int getHilos(){
+        return hilos;
+    }
+
+    /**
+     * Creador de las opciones. Cada método cambia una opción y devuelve el propio creador para encadenar las llamadas.
+     */
+    public static final class Creador {
+
+        /**
+         * Tipo de estimación optimista.
+         */
+        private TipoCota tipoCota = TipoCota.COLUMNA;
+
+        /**
+         * Indica si se trazan los pasos del algoritmo.
+         */
+        private boolean trazasActivas = false;
+
+        /**
+         * Indica si se rompen las simetrías entre pedidos del mismo tipo de pastel.
+         */
+        private boolean romperSimetrias = false;
+
+        /**
+         * Indica si se descartan los nodos dominados por otro con los mismos pasteleros asignados y menor coste.
+         */
+        private boolean dominancia = true;
+
+        /**
+         * Presupuesto de la búsqueda.
+         */
+        private Presupuesto presupuesto = Presupuesto.ILIMITADO;
+
+        /**
+         * Estrategia de recorrido del árbol de búsqueda.
+         */
+        private Estrategia estrategia = Estrategia.PRIMERO_MEJOR;
+
+        /**
+         * Tamaño del montículo a partir del cual la estrategia híbrida explora en profundidad.
+         */
+        private int limiteMonticulo = RamificacionYPoda.LIMITE_MONTICULO_HIBRIDA;
+
+        /**
+         * Tamaño máximo de la frontera de la búsqueda primero el mejor, 0 si no se limita.
+         */
+        private int frontera = 0;
+
+        /**
+         * Orden en que se asignan los pedidos.
+         */
+        private OrdenPedidos ordenPedidos = OrdenPedidos.ENTRADA;
+
+        /**
+         * Orden en que se prueban los pasteleros de cada pedido.
+         */
+        private OrdenPasteleros ordenPasteleros = OrdenPasteleros.INDICE;
+
+        /**
+         * Criterio de desempate entre nodos con la misma estimación optimista en el montículo.
+         */
+        private Desempate desempate = Desempate.NINGUNO;
+
+        /**
+         * Número de hilos de la versión paralela.
+         */
+        private int hilos = 1;
+
+        /**
+         * Crea el creador con las opciones por defecto.
+         */
+        private Creador(){
+        }
+
+        /**
+         * Cambia el tipo de estimación optimista.
+         * @param tipoCota tipo de estimación optimista.
+         * @return el propio creador.
+         */
+        public Creador tipoCota(TipoCota tipoCota){
+            this.tipoCota = tipoCota;
+            return this;
+        }
+
+        /**
+         * Activa o desactiva las trazas de los pasos del algoritmo.
+         * @param trazasActivas indica si se trazan los pasos del algoritmo.
+         * @return el propio creador.
+         */
+        public Creador trazas(boolean trazasActivas){
+            this.trazasActivas = trazasActivas;
+            return this;
+        }
+
+        /**
+         * Activa o desactiva la ruptura de simetrías entre pedidos del mismo tipo de pastel.
+         * @param romperSimetrias indica si se rompen las simetrías.
+         * @return el propio creador.
+         */
+        public Creador romperSimetrias(boolean romperSimetrias){
+            this.romperSimetrias = romperSimetrias;
+            return this;
+        }
+
+        /**
+         * Activa o desactiva la poda por dominancia. Con ella se expanden menos nodos, pero entre soluciones de igual
+         * coste puede devolverse otra distinta de la que se obtiene sin ella.
+         * @param dominancia indica si se descartan los nodos dominados.
+         * @return el propio creador.
+         */
+        public Creador dominancia(boolean dominancia){
+            this.dominancia = dominancia;
+            return this;
+        }
+
+        /**
+         * Cambia el presupuesto de la búsqueda.
+         * @param presupuesto presupuesto de tiempo y nodos de la búsqueda.
+         * @return el propio creador.
+         */
+        public Creador presupuesto(Presupuesto presupuesto){
+            this.presupuesto = presupuesto;
+            return this;
+        }
+
+        /**
+         * Cambia la estrategia de recorrido del árbol de búsqueda.
+         * @param estrategia estrategia de recorrido.
+         * @return el propio creador.
+         */
+        public Creador estrategia(Estrategia estrategia){
+            this.estrategia = estrategia;
+            return this;
+        }
+
+        /**
+         * Cambia el tamaño del montículo a partir del cual la estrategia híbrida explora en profundidad.
+         * @param limiteMonticulo tamaño máximo del montículo.
+         * @return el propio creador.
+         * @throws IllegalArgumentException si el tamaño máximo del montículo es menor a 1.
+         */
+        public Creador limiteMonticulo(int limiteMonticulo){
+            if(limiteMonticulo < 1) throw new IllegalArgumentException("ERROR: el tamaño máximo del montículo no puede ser menor a 1.");
+            this.limiteMonticulo = limiteMonticulo;
+            return this;
+        }
+
+        /**
+         * Cambia el tamaño máximo de la frontera de la búsqueda primero el mejor.
+         * @param frontera tamaño máximo de la frontera, 0 si no se limita.
+         * @return el propio creador.
+         * @throws IllegalArgumentException si el tamaño máximo de la frontera es negativo.
+         */
+        public Creador frontera(int frontera){
+            if(frontera < 0) throw new IllegalArgumentException("ERROR: el tamaño máximo de la frontera no puede ser negativo.");
+            this.frontera = frontera;
+            return this;
+        }
+
+        /**
+         * Cambia el orden en que se asignan los pedidos.
+         * @param ordenPedidos orden de los pedidos.
+         * @return el propio creador.
+         */
+        public Creador ordenPedidos(OrdenPedidos ordenPedidos){
+            this.ordenPedidos = ordenPedidos;
+            return this;
+        }
+
+        /**
+         * Cambia el orden en que se prueban los pasteleros de cada pedido.
+         * @param ordenPasteleros orden de los pasteleros.
+         * @return el propio creador.
+         */
+        public Creador ordenPasteleros(OrdenPasteleros ordenPasteleros){
+            this.ordenPasteleros = ordenPasteleros;
+            return this;
+        }
+
+        /**
+         * Cambia el criterio de desempate entre nodos con la misma estimación optimista en el montículo.
+         * @param desempate criterio de desempate.
+         * @return el propio creador.
+         */
+        public Creador desempate(Desempate desempate){
+            this.desempate = desempate;
+            return this;
+        }
+
+        /**
+         * Cambia el número de hilos de la versión paralela.
+         * @param hilos número de hilos.
+         * @return el propio creador.
+         * @throws IllegalArgumentException si el número de hilos es menor a 1.
+         */
+        public Creador hilos(int hilos){
+            if(hilos < 1) throw new IllegalArgumentException("ERROR: el número de hilos no puede ser menor a 1.");
+            this.hilos = hilos;
+            return this;
+        }
+
+        /**
+         * Crea las opciones con los valores indicados.
+         * @return opciones creadas.
+         */
+        public OpcionesRamificacion crear(){
+            return new OpcionesRamificacion(this);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package pasteleria;
+
+/**
+ * Orden en el que el algoritmo de ramificación y poda prueba los pasteleros de cada pedido.
+ * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
+ * @author Asier Rodríguez López
+ * @version 1.0
+ * @since 2.0
+ */
+public enum OrdenPasteleros {
+
+    /**
+     * Orden de los pasteleros en la tabla de costes.
+     */
+    INDICE("indice"),
+
+    /**
+     * De menor a mayor coste para el tipo de pastel del pedido. Los primeros hijos de cada nodo son los más baratos,
+     * lo que en la búsqueda en profundidad lleva antes a buenas soluciones y, a igualdad de estimación optimista,
+     * decide el orden en el montículo.
+     */
+    COSTE("coste");
+
+    /**
+     * Valor con el que se indica el orden en los argumentos de inicio del programa.
+     */
+    private final String argumento;
+
+    /**
+     * Constructor del orden.
+     * @param argumento valor con el que se indica en los argumentos de inicio del programa.
+     */
+    OrdenPasteleros(String argumento){
+        this.argumento = argumento;
+    }
+
+    /**
+     * Devuelve el orden correspondiente al valor indicado en los argumentos de inicio del programa.
+     * @param argumento valor indicado en los argumentos de inicio.
+     * @return orden correspondiente.
+     * @throws IllegalArgumentException si el valor no corresponde a ningún orden.
+     */
+    public static OrdenPasteleros desdeArgumento(String argumento){
+        for(OrdenPasteleros orden: values())
+            if(orden.argumento.equalsIgnoreCase(argumento)) return orden;
+        throw new IllegalArgumentException("ERROR: orden de pasteleros no válido => "+argumento);
+    }
+
+    /**
+     * Devuelve el valor con el que se indica el orden en los argumentos de inicio del programa.
+     * @return valor del argumento.
+     */
+    public String getArgumento(){
+        return this.argumento;
+    }
+}
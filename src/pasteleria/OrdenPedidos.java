@@ -0,0 +1,56 @@
+package pasteleria;
+
+/**
+ * Orden en el que el algoritmo de ramificación y poda asigna los pedidos.
+ * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
+ * @author Asier Rodríguez López
+ * @version 1.0
+ * @since 2.0
+ */
+public enum OrdenPedidos {
+
+    /**
+     * Orden de entrada de los pedidos.
+     */
+    ENTRADA("entrada"),
+
+    /**
+     * Primero los pedidos con mayor arrepentimiento: la diferencia entre el menor y el segundo menor coste de su tipo
+     * de pastel. Son los que más empeoran si pierden su mejor pastelero, por lo que decidirlos antes encuentra
+     * buenas soluciones antes y ajusta la cota. Los pedidos del mismo tipo quedan agrupados.
+     */
+    ARREPENTIMIENTO("arrepentimiento");
+
+    /**
+     * Valor con el que se indica el orden en los argumentos de inicio del programa.
+     */
+    private final String argumento;
+
+    /**
+     * Constructor del orden.
+     * @param argumento valor con el que se indica en los argumentos de inicio del programa.
+     */
+    OrdenPedidos(String argumento){
+        this.argumento = argumento;
+    }
+
+    /**
+     * Devuelve el orden correspondiente al valor indicado en los argumentos de inicio del programa.
+     * @param argumento valor indicado en los argumentos de inicio.
+     * @return orden correspondiente.
+     * @throws IllegalArgumentException si el valor no corresponde a ningún orden.
+     */
+    public static OrdenPedidos desdeArgumento(String argumento){
+        for(OrdenPedidos orden: values())
+            if(orden.argumento.equalsIgnoreCase(argumento)) return orden;
+        throw new IllegalArgumentException("ERROR: orden de pedidos no válido => "+argumento);
+    }
+
+    /**
+     * Devuelve el valor con el que se indica el orden en los argumentos de inicio del programa.
+     * @return valor del argumento.
+     */
+    public String getArgumento(){
+        return this.argumento;
+    }
+}
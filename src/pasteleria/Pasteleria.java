@@ -4,6 +4,7 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.PrintStream;
 import java.nio.file.FileSystemException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -47,29 +48,97 @@ public class Pasteleria {
     static boolean trazasActivas = false;
 
     /**
-     * Tabla de costes de elaboración de cada pastel por cada pastelero.
+     * Tipo de estimación optimista utilizada por el algoritmo de ramificación y poda.
      */
-    static float[][] tablaDeCostes;
+    static TipoCota tipoCota = TipoCota.COLUMNA;
 
     /**
-     * Lista de pedidos.
+     * Motor de resolución con el que se resuelve el problema.
      */
-    static int[] pedidos;
+    static Motor motor = Motor.RAMIFICACION;
 
     /**
-     * Solución producida por el algoritmo de ramificación y poda.
+     * Número de hilos con los que se ejecuta la ramificación y poda. Con más de uno se utiliza la versión paralela.
      */
-    static int[] pasteleros_sol;
+    static int hilos = 1;
 
     /**
-     * Coste total de la solución producida por el algoritmo de ramificación y poda.
+     * Indica si se muestran las estadísticas de la resolución.
      */
-    static float costeT_sol;
+    static boolean estadisticasActivas = false;
+
+    /**
+     * Indica si la ramificación y poda rompe las simetrías entre pedidos del mismo tipo de pastel.
+     */
+    static boolean romperSimetrias = false;
+
+    /**
+     * Indica si la ramificación y poda descarta los nodos dominados por otro con los mismos pasteleros asignados.
+     */
+    static boolean podaDominancia = true;
+
+    /**
+     * Tiempo máximo de la ramificación y poda en milisegundos, 0 si no se limita.
+     */
+    static long tiempoMaximo = 0;
+
+    /**
+     * Número máximo de nodos expandidos por la ramificación y poda, 0 si no se limita.
+     */
+    static long nodosMaximos = 0;
+
+    /**
+     * Estrategia de recorrido del árbol de búsqueda de la ramificación y poda.
+     */
+    static Estrategia estrategia = Estrategia.PRIMERO_MEJOR;
+
+    /**
+     * Tamaño del montículo a partir del cual la estrategia híbrida explora en profundidad, 0 si no se ha indicado.
+     */
+    static int limiteMonticulo = 0;
+
+    /**
+     * Tamaño máximo de la frontera de la ramificación y poda, 0 si no se limita.
+     */
+    static int frontera = 0;
+
+    /**
+     * Orden en que la ramificación y poda asigna los pedidos.
+     */
+    static OrdenPedidos ordenPedidos = OrdenPedidos.ENTRADA;
+
+    /**
+     * Orden en que la ramificación y poda prueba los pasteleros de cada pedido.
+     */
+    static OrdenPasteleros ordenPasteleros = OrdenPasteleros.INDICE;
+
+    /**
+     * Criterio de desempate entre nodos con la misma estimación optimista en el montículo de la ramificación y poda.
+     */
+    static Desempate desempate = Desempate.NINGUNO;
+
+    /**
+     * Número de trabajadores del modo por lotes, 0 si se resuelve una única instancia. En el modo servidor, número de
+     * trabajadores del servidor, 0 para utilizar uno por procesador.
+     */
+    static int trabajadores = 0;
+
+    /**
+     * Puerto TCP del modo servidor, 0 para atender las peticiones por la entrada estándar y -1 si no se utiliza el modo
+     * servidor.
+     */
+    static int puerto = -1;
 
     public static void main(String[] args) {
         Locale.setDefault(Locale.ENGLISH);
 
         try {
+            //Cada ejecución parte de las opciones por defecto
+            reiniciarOpciones();
+
+            //Opciones con valor asociado
+            args = extraerOpciones(args);
+
             //Validaciones de argumentos de entrada
             if (args.length > 4) {
                 mostrarAyuda();
@@ -78,6 +147,18 @@ public class Pasteleria {
             if (args.length > 0) {
                 if (!sonArgumentosValidos(args)) throw new IllegalArgumentException("ERROR: argumentos de entrada no válidos.");
             }
+            //Las trazas se activan al validar los argumentos, por lo que se comprueban aquí y no con el resto de opciones
+            if (trazasActivas && hilos > 1 && (motor == Motor.RAMIFICACION || motor == Motor.AUTOMATICO))
+                throw new IllegalArgumentException("ERROR: las trazas no se admiten en la ramificación y poda paralela.");
+
+            if (puerto >= 0) {
+                servir();
+                return;
+            }
+            if (trabajadores > 0) {
+                resolverLote();
+                return;
+            }
 
             if (!existeFicheroEntrada)
                 trazar("SYSTEM: No se ha especificado fichero de entrada...se solicitarán los datos por entrada de teclado.",false);
@@ -85,33 +166,68 @@ public class Pasteleria {
                 trazar("SYSTEM: No se ha especificado fichero de salida...el resultado se mostrará por la consola.",false);
 
             //Validaciones de datos de pastelería
+            Instancia instancia;
             if (existeFicheroEntrada) {
                 //Lectura y validación de la entrada
-                sonValidosDatosFichero(leerFichero(ficheroEntrada));
+                instancia = sonValidosDatosFichero(leerFichero(ficheroEntrada));
             } else {
                 //Se solicita al usuario que introduzca la entrada por teclado
-                esEntradaPorTecladoValida();
+                instancia = esEntradaPorTecladoValida();
             }
 
-            pasteleros_sol = new int[0];
-            costeT_sol  = 0f;
+            Motor elegido = elegirMotor(instancia);
+            trazar("SYSTEM: se resuelve con el motor "+elegido.getArgumento()+".",false);
+            long inicio = System.nanoTime();
+            Resultado resultado = crearSolucionador(elegido).resolver(instancia);
+            long tiempo = System.nanoTime()-inicio;
 
-            asignaPasteleros(tablaDeCostes,pedidos);
+            if(!resultado.esOptima())
+                System.out.printf("SYSTEM: la búsqueda no se ha completado, la solución puede no ser óptima. Cota inferior %s, hueco %.2f%%%n",
+                        resultado.getCotaInferior(), 100d*resultado.getHueco());
 
-            String salida = "";
-            for (int i=0; i<pasteleros_sol.length; i++) {
-                salida += (pasteleros_sol[i]+1)+(i==pasteleros_sol.length-1?"\n":"-");
-            }
-            salida += costeT_sol;
+            String salida = resultado.formatear();
 
             if(!existeFicheroSalida) System.out.println("\nSYSTEM: resultado\n"+salida);
             else escribirFichero(salida);
 
+            if(estadisticasActivas && resultado.getEstadisticas() != null)
+                System.out.println(resultado.getEstadisticas().formatear(resultado.getCoste()));
+
+            //La comparación con la versión secuencial se hace después de mostrar el resultado y solo si se ha pedido
+            if(estadisticasActivas && elegido == Motor.RAMIFICACION && hilos > 1) compararConSecuencial(instancia, tiempo);
+
         } catch (Exception iae) {
             gestionarMensajeError(iae);
         }
     }
 
+    /**
+     * Restablece los valores por defecto de las opciones de los argumentos de inicio del programa.
+     */
+    private static void reiniciarOpciones(){
+        existeFicheroEntrada = false;
+        ficheroEntrada       = "";
+        existeFicheroSalida  = false;
+        ficheroSalida        = "";
+        trazasActivas        = false;
+        tipoCota             = TipoCota.COLUMNA;
+        motor                = Motor.RAMIFICACION;
+        hilos                = 1;
+        estadisticasActivas  = false;
+        romperSimetrias      = false;
+        podaDominancia       = true;
+        tiempoMaximo         = 0;
+        nodosMaximos         = 0;
+        estrategia           = Estrategia.PRIMERO_MEJOR;
+        limiteMonticulo      = 0;
+        frontera             = 0;
+        ordenPedidos         = OrdenPedidos.ENTRADA;
+        ordenPasteleros      = OrdenPasteleros.INDICE;
+        desempate            = Desempate.NINGUNO;
+        trabajadores         = 0;
+        puerto               = -1;
+    }
+
     /**
      * Método encargado de mostrar trazas si estas han sido activadas previamente.
      * @param traza mensaje de texto a trazar.
@@ -143,15 +259,185 @@ public class Pasteleria {
      */
     private static void mostrarAyuda(){
         String h = """    
-                        \nSINTAXIS: pasteleria [-t] [-h] [fichero_entrada] [fichero_salida]
+                        \nSINTAXIS: pasteleria [-t] [-h] [-s] [-r] [-x] [-m motor] [-c cota] [-p hilos] [-l ms] [-n nodos] [-e estrategia] [-k nodos] [-f nodos] [-o orden] [-v orden] [-d desempate] [-b trabajadores] [-w puerto] [fichero_entrada] [fichero_salida]
                                 -t: traza cada paso de manera que se describa la aplicación del algoritmo utilizado.
                                 -h: muestra una ayuda y la sintaxis del comando.
+                                -s: muestra las estadísticas de la resolución (nodos, montículo, cotas y tiempos).
+                                -r: rompe las simetrías entre pedidos del mismo tipo de pastel en la ramificación y poda.
+                                    Indicado con muchos pedidos repetidos, sobre todo junto a la cota reducida.
+                                -x: desactiva la poda por dominancia de la ramificación y poda (descartar un nodo si otro
+                                    con los mismos pasteleros asignados cuesta menos). Con ella se expanden menos nodos,
+                                    pero entre soluciones de igual coste puede devolver una distinta.
+                         -m motor: motor de resolución, rp (ramificación y poda, por defecto), hungaro, transporte,
+                                   dp (programación dinámica, hasta 24 pasteleros útiles), subasta (algoritmo de
+                                   subasta, exacto con costes de hasta 4 decimales) o auto (dp si quedan como mucho 20
+                                   pasteleros útiles y, si no, rp con las opciones indicadas).
+                          -c cota: estimación optimista a utilizar, columna (por defecto), libres o reducida. Con más
+                                   pasteleros que pedidos la más ajustada suele ser libres.
+                         -p hilos: ramificación y poda en paralelo con el número de hilos indicado. Con -s, tras el
+                                   resultado se resuelve también con la versión secuencial y se muestra la aceleración.
+                                   Con dp, cada capa de la programación dinámica se calcula con ese número de hilos y,
+                                   con subasta, las pujas de cada ronda.
+                            -l ms: tiempo máximo de la ramificación y poda en milisegundos. Al agotarse se devuelve la
+                                   mejor solución encontrada junto con una cota inferior del óptimo y el hueco.
+                         -n nodos: número máximo de nodos expandidos por la ramificación y poda, igual que -l.
+                    -e estrategia: recorrido del árbol en la ramificación y poda, mejor (primero el mejor, por defecto),
+                                   profundidad o hibrida (primero el mejor hasta llenar el montículo y después en
+                                   profundidad). Las dos últimas limitan la memoria en instancias grandes.
+                         -k nodos: tamaño máximo del montículo en la estrategia híbrida (por defecto 1048576). Solo
+                                   con -e hibrida.
+                         -f nodos: tamaño máximo de la frontera de la ramificación y poda. Se descartan los nodos de
+                                   mayor estimación optimista, por lo que se informa la cota inferior y el hueco. No
+                                   se aplica a la estrategia en profundidad.
+                         -o orden: orden en que la ramificación y poda asigna los pedidos, entrada (por defecto) o
+                                   arrepentimiento (primero los de mayor diferencia entre sus dos pasteleros más baratos).
+                         -v orden: orden en que la ramificación y poda prueba los pasteleros de cada pedido, indice
+                                   (por defecto) o coste (primero los más baratos).
+                     -d desempate: desempate entre nodos con la misma estimación optimista en el montículo de la
+                                   ramificación y poda, ninguno (por defecto) o profundidad (primero los más profundos).
+                  -b trabajadores: modo por lotes. El fichero de entrada puede contener varias instancias seguidas
+                                   (separables con líneas en blanco) o ser un directorio de ficheros de instancias,
+                                   que se resuelven con el número de trabajadores indicado. Los resultados se escriben
+                                   en el orden de entrada y un error en una instancia no detiene el resto. No admite -t.
+                                   Con -w, número de trabajadores del servidor (por defecto, uno por procesador).
+                        -w puerto: modo servidor. Se mantiene en marcha atendiendo instancias con el formato de los
+                                   ficheros de entrada por el puerto TCP local indicado o, con stdin, por la entrada
+                                   estándar. Cada respuesta son los pasteleros y el coste (o el error) seguidos de una
+                                   línea en blanco, en el orden de las peticiones. Sin -l ni -n, la ramificación y
+                                   poda secuencial tiene un tiempo máximo de 10000 ms por petición. No admite -t ni
+                                   ficheros.
                    fichero_entrada: es el nombre del fichero del que se leen los datos de entrada.
                     fichero_salida: es el nombre del fichero que se creará para almacenar la salida.\n
                     """;
         System.out.println(h);
     }
 
+    /**
+     * Extrae de los argumentos de inicio de programa las opciones que llevan un valor asociado (por ejemplo "-c libres")
+     * y las opciones -s, -r y -x, y devuelve el resto de argumentos para que sean validados por sonArgumentosValidos.
+     * @see pasteleria.Pasteleria#sonArgumentosValidos
+     * @param args argumentos de inicio de programa.
+     * @return argumentos de inicio de programa sin las opciones con valor asociado.
+     * @throws IllegalArgumentException si falta el valor de una opción, este no es válido, se limita el presupuesto, se
+     * cambia la estrategia o se cambia el orden de ramificación de un motor que no lo admite, o se limita el montículo o
+     * la frontera de una estrategia que no los tiene.
+     */
+    private static String[] extraerOpciones(String[] args){
+        ArrayList<String> resto = new ArrayList<>();
+        for(int i=0; i<args.length; i++){
+            switch (args[i]){
+                case "-c":
+                    if(i+1 == args.length) throw new IllegalArgumentException("ERROR: la opción -c requiere un tipo de cota.");
+                    tipoCota = TipoCota.desdeArgumento(args[++i]);
+                    break;
+                case "-m":
+                    if(i+1 == args.length) throw new IllegalArgumentException("ERROR: la opción -m requiere un motor.");
+                    motor = Motor.desdeArgumento(args[++i]);
+                    break;
+                case "-s":
+                    estadisticasActivas = true;
+                    break;
+                case "-r":
+                    romperSimetrias = true;
+                    break;
+                case "-x":
+                    podaDominancia = false;
+                    break;
+                case "-p":
+                    if(i+1 == args.length) throw new IllegalArgumentException("ERROR: la opción -p requiere un número de hilos.");
+                    if(!args[++i].matches("^[0-9]+$") || Integer.parseInt(args[i]) < 1)
+                        throw new IllegalArgumentException("ERROR: el número de hilos debe ser un entero mayor a cero => "+args[i]);
+                    hilos = Integer.parseInt(args[i]);
+                    break;
+                case "-l":
+                    if(i+1 == args.length) throw new IllegalArgumentException("ERROR: la opción -l requiere un tiempo en milisegundos.");
+                    tiempoMaximo = leerLimite(args[++i], "tiempo máximo");
+                    break;
+                case "-n":
+                    if(i+1 == args.length) throw new IllegalArgumentException("ERROR: la opción -n requiere un número de nodos.");
+                    nodosMaximos = leerLimite(args[++i], "número máximo de nodos");
+                    break;
+                case "-e":
+                    if(i+1 == args.length) throw new IllegalArgumentException("ERROR: la opción -e requiere una estrategia.");
+                    estrategia = Estrategia.desdeArgumento(args[++i]);
+                    break;
+                case "-k":
+                    if(i+1 == args.length) throw new IllegalArgumentException("ERROR: la opción -k requiere un número de nodos.");
+                    if(!args[++i].matches("^[0-9]{1,9}$") || Integer.parseInt(args[i]) < 1)
+                        throw new IllegalArgumentException("ERROR: el tamaño máximo del montículo debe ser un entero mayor a cero => "+args[i]);
+                    limiteMonticulo = Integer.parseInt(args[i]);
+                    break;
+                case "-f":
+                    if(i+1 == args.length) throw new IllegalArgumentException("ERROR: la opción -f requiere un número de nodos.");
+                    if(!args[++i].matches("^[0-9]{1,9}$") || Integer.parseInt(args[i]) < 1)
+                        throw new IllegalArgumentException("ERROR: el tamaño máximo de la frontera debe ser un entero mayor a cero => "+args[i]);
+                    frontera = Integer.parseInt(args[i]);
+                    break;
+                case "-o":
+                    if(i+1 == args.length) throw new IllegalArgumentException("ERROR: la opción -o requiere un orden de pedidos.");
+                    ordenPedidos = OrdenPedidos.desdeArgumento(args[++i]);
+                    break;
+                case "-v":
+                    if(i+1 == args.length) throw new IllegalArgumentException("ERROR: la opción -v requiere un orden de pasteleros.");
+                    ordenPasteleros = OrdenPasteleros.desdeArgumento(args[++i]);
+                    break;
+                case "-d":
+                    if(i+1 == args.length) throw new IllegalArgumentException("ERROR: la opción -d requiere un desempate.");
+                    desempate = Desempate.desdeArgumento(args[++i]);
+                    break;
+                case "-b":
+                    if(i+1 == args.length) throw new IllegalArgumentException("ERROR: la opción -b requiere un número de trabajadores.");
+                    if(!args[++i].matches("^[0-9]{1,9}$") || Integer.parseInt(args[i]) < 1)
+                        throw new IllegalArgumentException("ERROR: el número de trabajadores debe ser un entero mayor a cero => "+args[i]);
+                    trabajadores = Integer.parseInt(args[i]);
+                    break;
+                case "-w":
+                    if(i+1 == args.length) throw new IllegalArgumentException("ERROR: la opción -w requiere un puerto o stdin.");
+                    if(args[++i].equalsIgnoreCase("stdin")) puerto = 0;
+                    else if(args[i].matches("^[0-9]{1,5}$") && Integer.parseInt(args[i]) >= 1 && Integer.parseInt(args[i]) <= 65535)
+                        puerto = Integer.parseInt(args[i]);
+                    else throw new IllegalArgumentException("ERROR: el puerto debe ser un entero entre 1 y 65535 o stdin => "+args[i]);
+                    break;
+                default:
+                    resto.add(args[i]);
+                    break;
+            }
+        }
+        //Con el motor automático se admiten las opciones de la ramificación y poda por si resulta elegida
+        boolean ramificacion = motor == Motor.RAMIFICACION || motor == Motor.AUTOMATICO;
+        if(tipoCota != TipoCota.COLUMNA && !ramificacion)
+            throw new IllegalArgumentException("ERROR: la opción -c solo se aplica a la ramificación y poda.");
+        if(romperSimetrias && !ramificacion)
+            throw new IllegalArgumentException("ERROR: la opción -r solo se aplica a la ramificación y poda.");
+        if(hilos > 1 && (motor == Motor.HUNGARO || motor == Motor.TRANSPORTE))
+            throw new IllegalArgumentException("ERROR: la opción -p no se aplica a los motores hungaro y transporte, que no tienen versión paralela.");
+        if((tiempoMaximo > 0 || nodosMaximos > 0 || frontera > 0) && (!ramificacion || hilos > 1))
+            throw new IllegalArgumentException("ERROR: las opciones -l, -n y -f solo se aplican a la ramificación y poda secuencial.");
+        if(estrategia != Estrategia.PRIMERO_MEJOR && (!ramificacion || hilos > 1))
+            throw new IllegalArgumentException("ERROR: la opción -e solo se aplica a la ramificación y poda secuencial.");
+        if(limiteMonticulo > 0 && estrategia != Estrategia.HIBRIDA)
+            throw new IllegalArgumentException("ERROR: la opción -k solo se aplica a la estrategia híbrida (-e hibrida).");
+        if(frontera > 0 && estrategia == Estrategia.PROFUNDIDAD)
+            throw new IllegalArgumentException("ERROR: la opción -f no se aplica a la estrategia en profundidad, que no tiene frontera.");
+        if((ordenPedidos != OrdenPedidos.ENTRADA || ordenPasteleros != OrdenPasteleros.INDICE
+                || desempate != Desempate.NINGUNO || !podaDominancia) && !ramificacion)
+            throw new IllegalArgumentException("ERROR: las opciones -o, -v, -d y -x solo se aplican a la ramificación y poda.");
+        return resto.toArray(new String[0]);
+    }
+
+    /**
+     * Valida el valor de una opción de límite del presupuesto.
+     * @param valor valor de la opción.
+     * @param nombre nombre del límite para el mensaje de error.
+     * @return límite indicado.
+     * @throws IllegalArgumentException si el valor no es un entero mayor a cero.
+     */
+    private static long leerLimite(String valor, String nombre){
+        if(!valor.matches("^[0-9]{1,18}$") || Long.parseLong(valor) < 1)
+            throw new IllegalArgumentException("ERROR: el "+nombre+" debe ser un entero mayor a cero => "+valor);
+        return Long.parseLong(valor);
+    }
+
     /**
      * Recibe los argumentos de inicio de programa y devuelve true si están correctamente introducidos. También se
      * encarga de activar las trazas, mostrar el mensaje de ayuda y de gestionar los ficheros de entrada y salida.
@@ -289,8 +575,8 @@ public class Pasteleria {
             trazar("ERROR: el fichero no existe.",true);
             return false;
         }
-        //¿Es fichero válido?
-        if(!fichero.isFile()) {
+        //¿Es fichero válido? En el modo por lotes la entrada puede ser un directorio
+        if(!fichero.isFile() && !(esEntrada && trabajadores > 0 && fichero.isDirectory())) {
             trazar("ERROR: no es un fichero válido.",true);
             return false;
         }
@@ -321,20 +607,28 @@ public class Pasteleria {
     /**
      * Verifica que los datos del fichero se ajustan a las especificaciones del programa.
      * @param datos datos del fichero.
+     * @return instancia con los datos del fichero.
      * @throws FileSystemException cuando los datos no tienen el formato correcto.
      */
-    private static void sonValidosDatosFichero(String datos) throws FileSystemException {
+    static Instancia sonValidosDatosFichero(String datos) throws FileSystemException {
         trazar("SYSTEM: inicio de la validación de los datos.",false);
 
         int numPasteleros;
         int tiposDePasteles;
         float[][] tablaCostes;
 
-        //Estructura del fichero
-        Pattern pattern = Pattern.compile("^(?:[0-9]+)\\n(?:[0-9]+)\\n(?:[0-9]+(?:-[0-9]+)*)\\n(?:(?:[0-9]+(?:\\.[0-9]+)?)+(?: (?:[0-9]+(?:\\.[0-9]+)?)+)*\\n?)+$", Pattern.MULTILINE);
-        Matcher matcher = pattern.matcher(datos);
+        //Estructura del fichero. Se comprueba línea a línea y con cuantificadores posesivos para no desbordar la pila del
+        //motor de expresiones regulares con instancias grandes.
+        String[] lineas   = datos.split("\n");
+        Pattern pattern   = Pattern.compile("^[0-9]+\\n[0-9]+\\n[0-9]+(?:-[0-9]+)*+$");
+        Pattern patCostes = Pattern.compile("^[0-9]+(?:\\.[0-9]+)?(?: [0-9]+(?:\\.[0-9]+)?)*+$");
+        Matcher matcher;
 
-        if(matcher.find())
+        boolean estructurado = lineas.length > 3 && pattern.matcher(lineas[0]+"\n"+lineas[1]+"\n"+lineas[2]).find();
+        for(int i=3; estructurado && i<lineas.length; i++)
+            estructurado = patCostes.matcher(lineas[i]).find();
+
+        if(estructurado)
             trazar("SYSTEM: el fichero está correctamente estructurado.",false);
         else
             throw new FileSystemException("""
@@ -346,7 +640,7 @@ public class Pasteleria {
                     tipos de pasteles indicados en la segunda linea.
                     """);
 
-        String[] arrayDatos = datos.split("\n");
+        String[] arrayDatos = lineas;
 
         //Número de pasteleros
         pattern = Pattern.compile("^[0-9]+$");
@@ -374,7 +668,7 @@ public class Pasteleria {
         if(arrayDatos.length-3 != numPasteleros)
             throw new FileSystemException("ERROR: no se ha introducido correctamente los datos de los pasteleros, debería haber "+numPasteleros+" lineas y hay "+(arrayDatos.length-3));
 
-        pattern = Pattern.compile("^(?:[0-9]+(?:\\.[0-9]+)?)+(?: (?:[0-9]+(?:\\.[0-9]+)?)+)*$");
+        pattern = patCostes;
         tablaCostes = new float[numPasteleros][tiposDePasteles];
 
         for (int i=3; i<arrayDatos.length; i++) {
@@ -392,12 +686,10 @@ public class Pasteleria {
                 tablaCostes[i-3][k] = Float.parseFloat(costes[k]);
         }
 
-        tablaDeCostes = tablaCostes;
-
         trazar("SYSTEM: los datos de los pasteleros son correctos.",false);
 
         //Pedidos
-        pattern = Pattern.compile("^[0-9]+(?:-[0-9]+)*$");
+        pattern = Pattern.compile("^[0-9]+(?:-[0-9]+)*+$");
         matcher = pattern.matcher(arrayDatos[2]);
 
         if(matcher.find())
@@ -406,7 +698,7 @@ public class Pasteleria {
             throw new FileSystemException("ERROR: el pedido no está correctamente estructurado => "+arrayDatos[2]);
 
         String[] strPedidos = arrayDatos[2].split("-");
-        pedidos = new int[strPedidos.length];
+        int[] pedidos = new int[strPedidos.length];
 
         if(pedidos.length > numPasteleros)
             throw new FileSystemException("ERROR: el número de pedidos ("+ pedidos.length+") es superior al número de pasteleros ("+numPasteleros+"");
@@ -425,6 +717,8 @@ public class Pasteleria {
         }
 
         trazar("SYSTEM: datos correctos. Fin de validación de los datos.\n",false);
+
+        return new Instancia(tablaCostes, pedidos);
     }
 
     /**
@@ -465,22 +759,32 @@ public class Pasteleria {
 
         fos = new FileOutputStream(path,true);
 
+        String datos = cabeceraSalida();
+        datos += (salida);
+
+        fos.write(datos.getBytes());
+        fos.close();
+    }
+
+    /**
+     * Cabecera con la fecha con la que empieza cada escritura en el fichero de salida.
+     * @return cabecera de la salida.
+     */
+    private static String cabeceraSalida(){
         String datos = "";
         datos += ("\n.................... ");
         datos += (new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new java.util.Date()));
         datos += (" ....................\n");
         datos += ("Salida producto de la ejecución de pasteleria:\n");
-        datos += (salida);
-
-        fos.write(datos.getBytes());
-        fos.close();
+        return datos;
     }
 
     /**
      * Verifica que la entrada por teclado es válida.
+     * @return instancia con los datos introducidos.
      * @throws IOException cuando se da un error en la entrada de datos.
      */
-    private static void esEntradaPorTecladoValida() throws IOException{
+    private static Instancia esEntradaPorTecladoValida() throws IOException{
 
         Scanner entrada = new Scanner(System.in);
 
@@ -544,7 +848,7 @@ public class Pasteleria {
             }
         }
 
-        pedidos = new int[peds.size()];
+        int[] pedidos = new int[peds.size()];
         for(int i=0; i<pedidos.length; i++)
             pedidos[i] = peds.get(i);
 
@@ -571,9 +875,9 @@ public class Pasteleria {
             }
         }
 
-        tablaDeCostes = tablaCostes;
-
         trazar("SYSTEM: fin de entrada por teclado.\n",false);
+
+        return new Instancia(tablaCostes, pedidos);
     }
 
     /**
@@ -595,254 +899,140 @@ public class Pasteleria {
     }
 
     /**
-     * Crea un literal a partir del contenido de un array.
-     * @param nodo array a partir del cual crear un literal.
+     * Resuelve el motor a utilizar para una instancia: el indicado en los argumentos de inicio del programa o, con el
+     * automático, la programación dinámica si la instancia es adecuada y si no la ramificación y poda.
+     * @param instancia instancia a resolver.
+     * @return motor con el que se resuelve la instancia.
      */
-    private static String instantanea(Nodo nodo){
-        if(!trazasActivas) return "No se traza";
-        String datos = "pasteleros:{";
-        for(int i=0; i<nodo.pasteleros.length; i++)
-            datos += nodo.pasteleros[i]+(i==nodo.pasteleros.length-1?"":",");
-        datos += "}  ";
-
-        datos += "booAsignados:{";
-        for(int i=0; i<nodo.booAsignados.length; i++)
-            datos += nodo.booAsignados[i]+(i==nodo.booAsignados.length-1?"":",");
-        datos += "}  ";
-
-        datos += "costeTotal:"+nodo.costeTotal+"   estOpt:"+nodo.estOpt+"   numNodo:"+nodo.numNodo;
-
-        return datos;
+    private static Motor elegirMotor(Instancia instancia){
+        if(motor != Motor.AUTOMATICO) return motor;
+        return ProgramacionDinamica.esAdecuada(instancia) ? Motor.PROGRAMACION_DINAMICA : Motor.RAMIFICACION;
     }
 
     /**
-     * Cálculo de la estimación optimista partiendo del coste de los pedidos ya asignados.
-     * @param tabla_costes tabla de costes de la elaboración de cada pastel por cada pastelero.
-     * @param pedidos lista de los pedidos.
-     * @param num_nodo número del nodo a partir del cual calcular la estimación.
-     * @param coste coste de los pedidos ya asignados.
-     * @return estimación optimista en función de los parámetros de entrada.
+     * Resuelve en modo por lotes todas las instancias del fichero o directorio de entrada con el número de trabajadores
+     * indicado, y escribe los resultados en el fichero de salida tras una única cabecera o, si no se ha indicado, en la
+     * consola. Cada instancia se resuelve con el motor que le corresponda según las opciones; la ramificación y poda
+     * paralela no se compara con la secuencial.
+     * @see pasteleria.Lote
+     * @throws Exception si no hay fichero de entrada, se han activado las trazas o no es posible leer la entrada o
+     * escribir la salida.
      */
-    private static float estimacionOpt(float[][] tabla_costes, int[] pedidos, int num_nodo, float coste){
-
-        float estimacion = coste, menorCoste;
-
-        for(int i=num_nodo+1; i<pedidos.length; i++){
-            menorCoste = tabla_costes[0][pedidos[i]-1];
-
-            for(int k=1; k<pedidos.length; k++)
-                if (menorCoste > tabla_costes[k][pedidos[i] - 1])
-                    menorCoste = tabla_costes[k][pedidos[i] - 1];
-
-            estimacion += menorCoste;
+    private static void resolverLote() throws Exception {
+        if(!existeFicheroEntrada)
+            throw new IllegalArgumentException("ERROR: el modo por lotes requiere un fichero o directorio de entrada.");
+        if(trazasActivas)
+            throw new IllegalArgumentException("ERROR: las trazas no se admiten en el modo por lotes.");
+
+        Lote lote = crearLote(trabajadores);
+        long inicio = System.nanoTime();
+        if(existeFicheroSalida){
+            try(PrintStream salida = new PrintStream(new FileOutputStream(ficheroSalida,true))){
+                salida.print(cabeceraSalida());
+                lote.resolver(new File(ficheroEntrada), salida);
+            }
         }
+        else lote.resolver(new File(ficheroEntrada), System.out);
 
-        return estimacion;
+        System.out.printf("SYSTEM: lote de %d instancias resuelto con %d trabajadores en %.3f ms, %d con errores.%n",
+                lote.getInstancias(), trabajadores, (System.nanoTime()-inicio)/1e6, lote.getErrores());
     }
 
     /**
-     * Cálculo de la estimación pesimista partiendo del coste de los pedidos ya asignados.
-     * @param tabla_costes tabla de costes de la elaboración de cada pastel por cada pastelero.
-     * @param pedidos lista de los pedidos.
-     * @param num_nodo número del nodo a partir del cual calcular la estimación.
-     * @param coste coste de los pedidos ya asignados.
-     * @return estimación pesimista en función de los parámetros de entrada.
+     * Mantiene el programa en marcha en modo servidor, atendiendo peticiones por el puerto TCP local indicado o por la
+     * entrada estándar. Cada petición se resuelve con el motor que le corresponda según las opciones; si no se ha
+     * limitado el presupuesto, la ramificación y poda secuencial tiene el tiempo máximo por defecto del servidor.
+     * @see pasteleria.Servidor
+     * @throws Exception si se han indicado ficheros o activado las trazas, o no es posible abrir el puerto.
      */
-    private static float estimacionPes(float[][] tabla_costes, int[] pedidos, int num_nodo, float coste){
-
-        float estimacion = coste, mayorCoste;
-
-        for(int i=num_nodo+1; i<pedidos.length; i++){
-            mayorCoste = tabla_costes[0][pedidos[i]-1];
-
-            for(int k=1; k<pedidos.length; k++)
-                if(mayorCoste < tabla_costes[k][pedidos[i]-1])
-                    mayorCoste = tabla_costes[k][pedidos[i]-1];
-
-            estimacion += mayorCoste;
-        }
-
-        return estimacion;
+    private static void servir() throws Exception {
+        if(existeFicheroEntrada || existeFicheroSalida)
+            throw new IllegalArgumentException("ERROR: el modo servidor no admite ficheros de entrada ni de salida.");
+        if(trazasActivas)
+            throw new IllegalArgumentException("ERROR: las trazas no se admiten en el modo servidor.");
+
+        if(tiempoMaximo == 0 && nodosMaximos == 0) tiempoMaximo = Servidor.TIEMPO_MAXIMO_POR_DEFECTO;
+        int numTrabajadores = trabajadores > 0 ? trabajadores : Runtime.getRuntime().availableProcessors();
+        Servidor servidor = new Servidor(crearLote(numTrabajadores), numTrabajadores);
+        if(puerto == 0) servidor.atender(System.in, System.out);
+        else servidor.escuchar(puerto);
     }
 
     /**
-     * Algoritmo de ramificación y poda para la asignación de pasteleros a cada pedido con coste mínimo.
-     * @param tabla_costes tabla de costes de elaboración de cada pastel por cada pastelero.
-     * @param pedidos lista de pedidos.
-     */
-    public static void asignaPasteleros(float[][] tabla_costes, int[] pedidos){
-        trazar("SYSTEM: inicio de algoritmo de asignación de pasteleros a pedidos.",false);
-        trazar("SYSTEM: se inician variables y el primer nodo.",false);
-        Monticulo<Nodo> montC = new Monticulo<>();
-        ArrayList<Nodo> monticulo = montC.getMonticulo();
-
-        Nodo nodo = new Nodo(pedidos.length);
-        Nodo hijo;
-        float cota, estPes;
-
-        montC.insertar(nodo,monticulo);
-        nodo.numNodo = -1;
-        trazar("SYSTEM: se ha insertado el primer nodo en el montículo",false);
-
-        nodo.estOpt = estimacionOpt(tabla_costes,pedidos,nodo.numNodo,nodo.costeTotal);
-        trazar("SYSTEM: la estimación optimista del primer nodo es: "+nodo.estOpt,false);
-
-        cota = estimacionPes(tabla_costes,pedidos,nodo.numNodo,nodo.costeTotal);
-        trazar("SYSTEM: la cota es: "+cota,false);
-
-        while( (!montC.elMonticuloEstaVacio(monticulo))
-                &&
-                (montC.mostrarCima(monticulo).estOpt <= cota) )
-        {
-
-            trazar("\n\nSYSTEM: se generan los nodos para cada pastelero no asignado.",false);
-            nodo = montC.obtenerCima(monticulo);
-            trazar("SYSTEM: instantánea del primer nodo del montículo => "+instantanea(nodo),false);
-
-            hijo              = new Nodo();
-            hijo.numNodo      = nodo.numNodo+1;
-            hijo.pasteleros   = nodo.pasteleros.clone();
-            hijo.booAsignados = nodo.booAsignados.clone();
-
-            int i=0;
-            for(int n=0; n<nodo.pasteleros.length; n++){
-                trazar("\nSYSTEM: se examina el hijo ("+n+") => "+instantanea(hijo),false);
-
-                if(!hijo.booAsignados[i] ){
-                    trazar("SYSTEM: se asigna el pastelero "+i+" al pedido "+hijo.numNodo,false);
-                    hijo.pasteleros[hijo.numNodo] = i;
-                    hijo.booAsignados[i]          = true;
-                    hijo.costeTotal               = nodo.costeTotal + tabla_costes[i][pedidos[hijo.numNodo]-1];
-
-                    if( hijo.numNodo == pedidos.length-1 ){
-                        if( cota >= hijo.costeTotal ){
-                            trazar("SYSTEM: cota:"+cota+" es "+( (cota> hijo.costeTotal)?"mayor que":"igual al" )+" costeTotal:"+hijo.costeTotal,false);
-                            trazar("SYSTEM: se actualiza la solución, el coste y la cota.",false);
-                            pasteleros_sol = hijo.pasteleros;
-                            costeT_sol     = hijo.costeTotal;
-                            cota           = costeT_sol;
-                        }
-                    }
-                    else //Solución no completa
-                    {
-                        trazar("SYSTEM: solución no completa.",false);
-                        hijo.estOpt = estimacionOpt(tabla_costes,pedidos,hijo.numNodo,hijo.costeTotal);
-                        if(hijo.estOpt <= cota)montC.insertar(hijo.clonarNodo(), monticulo);
-                        trazar("SYSTEM: la estimación optimista es " + hijo.estOpt + " y la cota es "+cota+". "+( (hijo.estOpt <= cota)?"Se":"No se" )+" inserta el nodo en el montículo", false);
-                        estPes = estimacionPes(tabla_costes, pedidos, hijo.numNodo, hijo.costeTotal);
-                        trazar("SYSTEM: cota:" + cota + " " + ((cota > estPes) ? "" : "no") + " es mayor que la estPes:" + estPes, false);
-                        if (cota > estPes)
-                            cota = estPes;
-                    }
-                    trazar("SYSTEM: instantánea del nodo hijo => "+instantanea(hijo),false);
-                    hijo.booAsignados[i] = false;
-                }
-                i++;
-            }
-        }
-    }
-
-}
-
-/**
- * Clase creada exprofeso para ser un nodo en el árbol implícito del algoritmo de ramificación y poda que resuelve el
- * problema de la pastelería.
- * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
- * @author Asier Rodríguez López
- * @version 1.0
- * @since 2.0
- */
-class Nodo implements Comparable<Nodo>{
-
-    /**
-     * Pasteleros asignados a cada pedido.
+     * Crea el lote que resuelve cada instancia con el motor que le corresponda según las opciones indicadas en los
+     * argumentos de inicio del programa.
+     * @param numTrabajadores número de trabajadores del lote.
+     * @return lote creado.
      */
-    int[] pasteleros;
-
-    /**
-     * Pasteleros disponibles=F u ocupados=T
-     */
-    boolean[] booAsignados;
-
-    /**
-     * Número de nodo.
-     */
-    int numNodo;
-
-    /**
-     * Coste total en este nodo.
-     */
-    float costeTotal;
-
-    /**
-     * Estimación optimista en este nodo.
-     */
-    float estOpt;
+    private static Lote crearLote(int numTrabajadores){
+        return new Lote(instancia -> crearSolucionador(elegirMotor(instancia)).resolver(instancia), numTrabajadores,
+                estadisticasActivas);
+    }
 
     /**
-     * Constructor vacío.
+     * Devuelve el tamaño máximo del montículo de la estrategia híbrida: el indicado con -k o, si no, el de por defecto.
+     * @return tamaño máximo del montículo.
      */
-    public Nodo(){
-        this.numNodo      = 0;
-        this.costeTotal   = 0f;
-        this.estOpt       = 0f;
+    private static int limiteMonticuloAplicado(){
+        return limiteMonticulo > 0 ? limiteMonticulo : RamificacionYPoda.LIMITE_MONTICULO_HIBRIDA;
     }
 
     /**
-     * Constructor que inicializa a ceros las variables de clase.
-     * @param tamano_pedidos cantidad de pedidos realizados.
+     * Crea el solucionador correspondiente a las opciones indicadas en los argumentos de inicio del programa.
+     * @param elegido motor de resolución, ya resuelto si se ha indicado el automático.
+     * @return solucionador a utilizar.
      */
-    public Nodo(int tamano_pedidos){
-        this.pasteleros   = new int[tamano_pedidos];
-        this.booAsignados = new boolean[tamano_pedidos];
-        this.numNodo      = 0;
-        this.costeTotal   = 0f;
-        this.estOpt       = 0f;
-        for(int i=0; i<tamano_pedidos; i++){
-            this.pasteleros[i]   = -1;
-            this.booAsignados[i] = false;
+    private static Solucionador crearSolucionador(Motor elegido){
+        switch (elegido){
+            case HUNGARO:
+                return new Hungaro();
+            case TRANSPORTE:
+                return new Transporte();
+            case PROGRAMACION_DINAMICA:
+                return new ProgramacionDinamica(hilos);
+            case SUBASTA:
+                return new Subasta(hilos);
+            default:
+                if(hilos > 1) return new RamificacionYPodaParalela(opcionesRamificacion().hilos(hilos).crear());
+                return new RamificacionYPoda(opcionesSecuenciales(trazasActivas));
         }
     }
 
     /**
-     * Constructor encargado de informar los datos del nodo.
-     * @param pasteleros pasteleros asignados a cada pedido.
-     * @param booAsignados pasteleros disponibles=0 u ocupados=1.
-     * @param numNodo número de nodo.
-     * @param costeTotal coste total en este nodo.
-     * @param estOpt estimación optimista en este nodo.
+     * Crea las opciones comunes a la ramificación y poda secuencial y paralela indicadas en los argumentos de inicio
+     * del programa.
+     * @return creador de las opciones, para completarlo según la versión.
      */
-    public Nodo(int[] pasteleros, boolean[] booAsignados, int numNodo, float costeTotal, float estOpt){
-        this.pasteleros   = pasteleros;
-        this.booAsignados = booAsignados;
-        this.numNodo      = numNodo;
-        this.costeTotal   = numNodo;
-        this.estOpt       = estOpt;
+    private static OpcionesRamificacion.Creador opcionesRamificacion(){
+        return OpcionesRamificacion.nuevas().tipoCota(tipoCota).romperSimetrias(romperSimetrias).dominancia(podaDominancia)
+                .ordenPedidos(ordenPedidos).ordenPasteleros(ordenPasteleros).desempate(desempate);
     }
 
     /**
-     * Clona el nodo.
-     * @return clon del nodo.
+     * Crea las opciones de la ramificación y poda secuencial indicadas en los argumentos de inicio del programa.
+     * @param trazas indica si se trazan los pasos del algoritmo.
+     * @return opciones de la versión secuencial.
      */
-    public Nodo clonarNodo(){
-        Nodo clon         = new Nodo();
-        clon.pasteleros   = this.pasteleros.clone();
-        clon.booAsignados = this.booAsignados.clone();
-        clon.numNodo      = this.numNodo;
-        clon.costeTotal   = this.costeTotal;
-        clon.estOpt       = this.estOpt;
-        return clon;
+    private static OpcionesRamificacion opcionesSecuenciales(boolean trazas){
+        return opcionesRamificacion().trazas(trazas).presupuesto(new Presupuesto(tiempoMaximo,nodosMaximos))
+                .estrategia(estrategia).limiteMonticulo(limiteMonticuloAplicado()).frontera(frontera).crear();
     }
 
     /**
-     * Método encargado de comparar dos objetos distintos.
-     * Se compara el parámetro de entrada contra el nodo que llama a la función para obtener un orden inverso en el
-     * montículo (de máximos).
-     * @param nodo objeto a comparar.
-     * @return número entero positivo si el objeto es menor al comparado, cero si son iguales y positivo si es menor.
+     * Resuelve la instancia con la ramificación y poda secuencial, con las mismas opciones y presupuesto que se le
+     * aplicarían y sin trazas, y muestra la aceleración obtenida por la versión paralela.
+     * @see pasteleria.RamificacionYPodaParalela
+     * @param instancia instancia ya resuelta con la versión paralela.
+     * @param tiempoParalelo tiempo de la resolución paralela en nanosegundos.
      */
-    @Override
-    public int compareTo(Nodo nodo) {
-        return Float.compare(nodo.estOpt,this.estOpt);
+    private static void compararConSecuencial(Instancia instancia, long tiempoParalelo){
+        long inicio = System.nanoTime();
+        Resultado secuencial = new RamificacionYPoda(opcionesSecuenciales(false)).resolver(instancia);
+        long tiempoSecuencial = System.nanoTime()-inicio;
+
+        System.out.printf("SYSTEM: ramificación y poda paralela (%d hilos) %.3f ms, secuencial %.3f ms%s, aceleración %.2f%n",
+                hilos, tiempoParalelo/1e6, tiempoSecuencial/1e6, secuencial.esOptima() ? "" : " (incompleta)",
+                (double) tiempoSecuencial/tiempoParalelo);
     }
-}
\ No newline at end of file
+
+}
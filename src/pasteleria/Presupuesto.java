@@ -0,0 +1,85 @@
+package pasteleria;
+
+/**
+ * Presupuesto de una búsqueda de ramificación y poda: tiempo máximo y número máximo de nodos expandidos. Cuando se
+ * agota, la búsqueda se detiene y devuelve la mejor solución encontrada junto con una cota inferior del coste óptimo,
+ * de forma que la latencia es predecible y se conoce la calidad de la solución.
+ * Un límite igual a cero indica que no se limita ese recurso. Es inmutable.
+ * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
+ * @author Asier Rodríguez López
+ * @version 1.0
+ * @since 2.0
+ */
+public final class Presupuesto {
+
+    /**
+     * Presupuesto sin límites: la búsqueda termina siempre con la solución óptima.
+     */
+    public static final Presupuesto ILIMITADO = new Presupuesto(0, 0);
+
+    /**
+     * Número de nodos expandidos entre dos consultas del reloj.
+     */
+    private static final int PERIODO_RELOJ = 64;
+
+    /**
+     * Tiempo máximo en milisegundos, 0 si no se limita.
+     */
+    private final long milisegundos;
+
+    /**
+     * Número máximo de nodos expandidos, 0 si no se limita.
+     */
+    private final long nodos;
+
+    /**
+     * Crea el presupuesto.
+     * @param milisegundos tiempo máximo en milisegundos, 0 si no se limita.
+     * @param nodos número máximo de nodos expandidos, 0 si no se limita.
+     * @throws IllegalArgumentException si alguno de los límites es negativo.
+     */
+    public Presupuesto(long milisegundos, long nodos){
+        if(milisegundos < 0) throw new IllegalArgumentException("ERROR: el tiempo máximo no puede ser negativo.");
+        if(nodos < 0) throw new IllegalArgumentException("ERROR: el número máximo de nodos no puede ser negativo.");
+        this.milisegundos = milisegundos;
+        this.nodos        = nodos;
+    }
+
+    /**
+     * Devuelve el tiempo máximo.
+     * @return tiempo máximo en milisegundos, 0 si no se limita.
+     */
+    public long getMilisegundos(){
+        return milisegundos;
+    }
+
+    /**
+     * Devuelve el número máximo de nodos expandidos.
+     * @return número máximo de nodos, 0 si no se limita.
+     */
+    public long getNodos(){
+        return nodos;
+    }
+
+    /**
+     * Indica si el presupuesto no limita ningún recurso.
+     * @return true si no hay límites.
+     */
+    public boolean esIlimitado(){
+        return milisegundos == 0 && nodos == 0;
+    }
+
+    /**
+     * Indica si se ha agotado el presupuesto. El límite de nodos se comprueba siempre; el reloj solo se consulta cada
+     * PERIODO_RELOJ nodos expandidos para no penalizar la búsqueda.
+     * Complejidad temporal constante O(1).
+     * @param nodosExpandidos nodos expandidos hasta el momento.
+     * @param inicio instante de inicio de la búsqueda en nanosegundos.
+     * @return true si se ha agotado el presupuesto.
+     */
+    boolean agotado(long nodosExpandidos, long inicio){
+        if(nodos > 0 && nodosExpandidos >= nodos) return true;
+        return milisegundos > 0 && nodosExpandidos % PERIODO_RELOJ == 0
+                && System.nanoTime()-inicio >= milisegundos*1_000_000L;
+    }
+}
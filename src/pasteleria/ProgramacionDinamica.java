@@ -0,0 +1,271 @@
+package pasteleria;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Resolución exacta del problema de la pastelería mediante programación dinámica sobre subconjuntos de pasteleros.
+ * Para cada conjunto de pasteleros ocupados, representado como una máscara de bits, costes[mascara] es el menor coste de
+ * asignar los primeros popcount(mascara) pedidos a esos pasteleros:
+ *     costes[mascara] = min { costes[mascara sin k] + coste de k para el pedido popcount(mascara) : k en mascara }
+ * El coste es O(2^p*p) en tiempo y O(2^p) en memoria, donde 'p' es el número de pasteleros, independiente de la
+ * calidad de las cotas, y solo se utilizan vectores de tipos primitivos. Antes se descartan los pasteleros que no
+ * pueden intervenir en la solución óptima, de forma que con más pasteleros que pedidos el número de máscaras depende
+ * de los pasteleros útiles.
+ * Cada capa de máscaras con el mismo número de pasteleros solo depende de la anterior, por lo que con varios hilos las
+ * capas se calculan una tras otra repartiendo las máscaras de cada capa en un ForkJoinPool.
+ * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
+ * @author Asier Rodríguez López
+ * @version 1.0
+ * @since 2.0
+ * @see pasteleria.SeleccionPasteleros
+ */
+public class ProgramacionDinamica implements Solucionador {
+
+    /**
+     * Número máximo de pasteleros, tras descartar los que no pueden intervenir en la solución óptima. Con 24 pasteleros
+     * el vector de costes ocupa 64 MB.
+     */
+    public static final int MAX_PASTELEROS = 24;
+
+    /**
+     * Número máximo de pasteleros con el que el motor automático elige la programación dinámica en lugar de la
+     * ramificación y poda.
+     */
+    public static final int LIMITE_AUTOMATICO = 20;
+
+    /**
+     * Tamaño, en bits, de los bloques de máscaras por debajo del cual una tarea de una capa no se divide.
+     */
+    private static final int BITS_POR_TAREA = 14;
+
+    /**
+     * Número de hilos con los que se calcula cada capa.
+     */
+    private final int hilos;
+
+    /**
+     * Crea el solucionador secuencial.
+     */
+    public ProgramacionDinamica(){
+        this(1);
+    }
+
+    /**
+     * Crea el solucionador.
+     * @param hilos número de hilos con los que se calcula cada capa, 1 para la versión secuencial.
+     * @throws IllegalArgumentException si el número de hilos es menor a 1.
+     */
+    public ProgramacionDinamica(int hilos){
+        if(hilos < 1) throw new IllegalArgumentException("ERROR: el número de hilos no puede ser menor a 1.");
+        this.hilos = hilos;
+    }
+
+    /**
+     * Indica si la instancia es lo bastante pequeña para que el motor automático la resuelva con programación dinámica.
+     * @param instancia instancia a resolver.
+     * @return true si, tras descartar pasteleros, quedan como mucho LIMITE_AUTOMATICO.
+     */
+    static boolean esAdecuada(Instancia instancia){
+        return new SeleccionPasteleros(instancia).instancia().getNumPasteleros() <= LIMITE_AUTOMATICO;
+    }
+
+    /**
+     * Resuelve la instancia.
+     * @param instancia ejemplar del problema a resolver.
+     * @return asignación de pasteleros a pedidos y su coste total.
+     * @throws IllegalArgumentException si, tras descartar pasteleros, quedan más de MAX_PASTELEROS.
+     */
+    @Override
+    public Resultado resolver(Instancia instancia){
+        Estadisticas estadisticas = new Estadisticas();
+        long inicio = System.nanoTime();
+        SeleccionPasteleros seleccion = new SeleccionPasteleros(instancia);
+        Instancia seleccionada = seleccion.instancia();
+        int p = seleccionada.getNumPasteleros();
+        if(p > MAX_PASTELEROS)
+            throw new IllegalArgumentException("ERROR: la programación dinámica admite como mucho "+MAX_PASTELEROS
+                    +" pasteleros y la instancia necesita "+p+".");
+
+        int[] pasteleros = asignar(seleccionada.tablaCostes(), seleccionada.pedidos());
+        estadisticas.tiempoTotal = System.nanoTime()-inicio;
+        return Resultado.desdeAsignacion(instancia, seleccion.restaurar(pasteleros), estadisticas);
+    }
+
+    /**
+     * Calcula la asignación de pasteleros a pedidos de coste mínimo.
+     * @param tabla_costes tabla de costes de elaboración de cada pastel por cada pastelero.
+     * @param pedidos lista de pedidos.
+     * @return pastelero asignado a cada pedido (empezando en cero).
+     */
+    private int[] asignar(float[][] tabla_costes, int[] pedidos){
+        int n = pedidos.length, p = tabla_costes.length;
+
+        //Coste de cada pastelero para cada pedido, por filas de pedidos para recorrerlo de forma contigua
+        float[] costePedido = new float[n*p];
+        for(int i=0; i<n; i++)
+            for(int k=0; k<p; k++) costePedido[i*p+k] = tabla_costes[k][pedidos[i]-1];
+
+        float[] costes = new float[1 << p];
+        if(hilos == 1){
+            //En orden creciente cada máscara sin un pastelero ya está calculada
+            for(int mascara=1; mascara<costes.length; mascara++){
+                int ocupados = Integer.bitCount(mascara);
+                if(ocupados <= n) calcular(costes, costePedido, p, mascara, ocupados);
+            }
+        }
+        else{
+            ForkJoinPool pool = new ForkJoinPool(hilos);
+            try {
+                for(int capa=1; capa<=n; capa++)
+                    pool.invoke(new Capa(costes, costePedido, p, 0, p, capa));
+            } finally {
+                pool.shutdown();
+            }
+        }
+        return reconstruir(costes, costePedido, n, p);
+    }
+
+    /**
+     * Calcula el coste de una máscara a partir de las máscaras con un pastelero menos, que ya deben estar calculadas.
+     * Complejidad temporal O(p).
+     * @param costes coste de cada máscara. Se modifica.
+     * @param costePedido coste de cada pastelero para cada pedido.
+     * @param p número de pasteleros.
+     * @param mascara máscara a calcular, distinta de cero.
+     * @param ocupados número de pasteleros de la máscara.
+     */
+    private static void calcular(float[] costes, float[] costePedido, int p, int mascara, int ocupados){
+        int fila = (ocupados-1)*p;
+        float minimo = Float.POSITIVE_INFINITY;
+        for(int resto=mascara; resto!=0; resto&=resto-1){
+            int k = Integer.numberOfTrailingZeros(resto);
+            float coste = costes[mascara ^ (1 << k)] + costePedido[fila+k];
+            if(coste < minimo) minimo = coste;
+        }
+        costes[mascara] = minimo;
+    }
+
+    /**
+     * Calcula las máscaras de una capa dentro de un bloque alineado [desde, desde + 2^bits): los bits altos son los de
+     * desde y en los bajos solo se recorren las combinaciones con los pasteleros que faltan para la capa, generadas en
+     * orden con el método de Gosper, sin comprobar el resto de máscaras del bloque.
+     * @param costes coste de cada máscara. Se modifica.
+     * @param costePedido coste de cada pastelero para cada pedido.
+     * @param p número de pasteleros.
+     * @param desde primera máscara del bloque, con los bits bajos a cero.
+     * @param bits número de bits bajos del bloque.
+     * @param capa número de pasteleros de las máscaras a calcular.
+     */
+    private static void calcularCapa(float[] costes, float[] costePedido, int p, int desde, int bits, int capa){
+        int faltan = capa - Integer.bitCount(desde);
+        if(faltan < 0 || faltan > bits) return;
+        if(faltan == 0){
+            if(desde != 0) calcular(costes, costePedido, p, desde, capa);
+            return;
+        }
+        for(int bajos=(1 << faltan)-1; bajos < (1 << bits); ){
+            calcular(costes, costePedido, p, desde | bajos, capa);
+            int menor = bajos & -bajos, r = bajos + menor;
+            bajos = (((r ^ bajos) >>> 2) / menor) | r;
+        }
+    }
+
+    /**
+     * Reconstruye la asignación a partir de la mejor máscara con tantos pasteleros como pedidos, deshaciendo en cada
+     * paso el pastelero cuyo coste explica el de la máscara. A igualdad se elige el pastelero de menor índice.
+     * @param costes coste de cada máscara.
+     * @param costePedido coste de cada pastelero para cada pedido.
+     * @param n número de pedidos.
+     * @param p número de pasteleros.
+     * @return pastelero asignado a cada pedido.
+     */
+    private static int[] reconstruir(float[] costes, float[] costePedido, int n, int p){
+        int mejor = -1;
+        for(int mascara=(1 << n)-1; mascara<costes.length; mascara++)
+            if(Integer.bitCount(mascara) == n && (mejor < 0 || costes[mascara] < costes[mejor])) mejor = mascara;
+
+        int[] pasteleros = new int[n];
+        for(int i=n-1, mascara=mejor; i>=0; i--){
+            for(int resto=mascara; resto!=0; resto&=resto-1){
+                int k = Integer.numberOfTrailingZeros(resto);
+                if(costes[mascara ^ (1 << k)] + costePedido[i*p+k] == costes[mascara]){
+                    pasteleros[i] = k;
+                    mascara ^= 1 << k;
+                    break;
+                }
+            }
+        }
+        return pasteleros;
+    }
+
+    /**
+     * Tarea que calcula las máscaras de una capa dentro de un bloque alineado, dividiéndolo en dos mientras sea grande.
+     */
+    private static final class Capa extends RecursiveAction {
+
+        /**
+         * Versión de serialización, requerida por RecursiveAction aunque las tareas no se serializan.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Coste de cada máscara.
+         */
+        private final float[] costes;
+
+        /**
+         * Coste de cada pastelero para cada pedido.
+         */
+        private final float[] costePedido;
+
+        /**
+         * Número de pasteleros.
+         */
+        private final int p;
+
+        /**
+         * Primera máscara del bloque de la tarea, con los bits bajos a cero.
+         */
+        private final int desde;
+
+        /**
+         * Número de bits bajos del bloque de la tarea, que tiene 2^bits máscaras.
+         */
+        private final int bits;
+
+        /**
+         * Número de pasteleros de las máscaras a calcular.
+         */
+        private final int capa;
+
+        /**
+         * Crea la tarea.
+         * @param costes coste de cada máscara.
+         * @param costePedido coste de cada pastelero para cada pedido.
+         * @param p número de pasteleros.
+         * @param desde primera máscara del bloque, con los bits bajos a cero.
+         * @param bits número de bits bajos del bloque.
+         * @param capa número de pasteleros de las máscaras a calcular.
+         */
+        Capa(float[] costes, float[] costePedido, int p, int desde, int bits, int capa){
+            this.costes      = costes;
+            this.costePedido = costePedido;
+            this.p           = p;
+            this.desde       = desde;
+            this.bits        = bits;
+            this.capa        = capa;
+        }
+
+        @Override
+        protected void compute(){
+            if(bits <= BITS_POR_TAREA){
+                calcularCapa(costes, costePedido, p, desde, bits, capa);
+                return;
+            }
+            //La mitad alta del bloque tiene a uno el bit más alto de los bits bajos
+            invokeAll(new Capa(costes, costePedido, p, desde, bits-1, capa),
+                      new Capa(costes, costePedido, p, desde | (1 << (bits-1)), bits-1, capa));
+        }
+    }
+}
@@ -0,0 +1,552 @@
+package pasteleria;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Algoritmo de ramificación y poda para la asignación de pasteleros a cada pedido con coste mínimo. Por defecto la
+ * búsqueda es primero el mejor: se expande siempre el nodo del montículo con menor estimación optimista y se poda
+ * cualquier nodo cuya estimación optimista supere la cota. Salvo que se desactive, también se descartan los nodos
+ * dominados por otro con los mismos pasteleros asignados y menor coste. Opcionalmente se rompen las simetrías entre
+ * pedidos del mismo tipo de pastel.
+ * La cota parte del coste de una solución inicial voraz mejorada con búsqueda local.
+ * Para instancias grandes se puede limitar la memoria con una búsqueda en profundidad o con una híbrida que pasa a
+ * profundidad cuando el montículo supera un tamaño máximo. Las estimaciones, la poda y la solución son las mismas.
+ * En la búsqueda primero el mejor, cada vez que baja la cota se eliminan del montículo los nodos que la superan, y se
+ * puede limitar el tamaño de la frontera descartando los peores nodos; en ese caso la solución deja de ser
+ * necesariamente óptima y la menor estimación optimista descartada se informa como cota inferior.
+ * Se puede cambiar el orden en que se asignan los pedidos (primero los de mayor arrepentimiento) y en que se prueban
+ * los pasteleros de cada pedido (primero los más baratos) para encontrar antes buenas soluciones.
+ * Con un presupuesto de tiempo o de nodos la búsqueda es de tipo anytime: al agotarse devuelve la mejor solución
+ * encontrada y, como cota inferior del óptimo, la menor estimación optimista de los nodos pendientes de explorar.
+ * @see pasteleria.TablaDominancia
+ * @see pasteleria.Simetrias
+ * @see pasteleria.Presupuesto
+ * @see pasteleria.Estrategia
+ * @see pasteleria.MonticuloMinMax
+ * @see pasteleria.Reordenacion
+ * El solucionador solo guarda su configuración; todo el estado de una búsqueda es local a cada llamada a resolver.
+ * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
+ * @author Asier Rodríguez López
+ * @version 1.0
+ * @since 2.0
+ */
+public class RamificacionYPoda implements Solucionador {
+
+    /**
+     * Tamaño máximo por defecto del montículo en la estrategia híbrida: 2^20 nodos.
+     */
+    public static final int LIMITE_MONTICULO_HIBRIDA = 1 << 20;
+
+    /**
+     * Orden de los hijos en la búsqueda en profundidad: menor estimación optimista primero. La ordenación es estable,
+     * por lo que a igualdad de estimación se respeta el orden en que se han probado los pasteleros.
+     */
+    private static final Comparator<Nodo> POR_ESTIMACION = (a, b) -> Float.compare(a.estOpt, b.estOpt);
+
+    /**
+     * Opciones de la búsqueda.
+     */
+    private final OpcionesRamificacion opciones;
+
+    /**
+     * Crea el solucionador con las opciones por defecto: cota por columnas, sin trazas y primero el mejor.
+     */
+    public RamificacionYPoda(){
+        this(OpcionesRamificacion.PREDETERMINADAS);
+    }
+
+    /**
+     * Crea el solucionador. No se utiliza el número de hilos de las opciones.
+     * @param opciones opciones de la búsqueda.
+     */
+    public RamificacionYPoda(OpcionesRamificacion opciones){
+        this.opciones = opciones;
+    }
+
+    @Override
+    public Resultado resolver(Instancia instancia){
+        Traza traza = opciones.trazasActivas() ? new Traza(System.out) : Traza.INACTIVA;
+        try {
+            SeleccionPasteleros seleccion = new SeleccionPasteleros(instancia);
+            if(!seleccion.descartaPasteleros() && !opciones.rompeSimetrias() && opciones.getOrdenPedidos() == OrdenPedidos.ENTRADA)
+                return new Busqueda(instancia, null, traza).asignaPasteleros();
+
+            //Se descartan los pasteleros que no pueden intervenir en la solución óptima, después se ordenan los pedidos
+            //y por último se agrupan por tipo, lo que respeta el orden si ya están agrupados
+            Instancia reordenada = seleccion.instancia();
+            if(seleccion.descartaPasteleros() && traza.activa())
+                traza.escribir("SYSTEM: se descartan "+(instancia.getNumPasteleros()-reordenada.getNumPasteleros())
+                        +" pasteleros que no están entre los "+instancia.getNumPedidos()+" más baratos de ningún tipo de"
+                        +" pastel pedido. Pasteleros restantes => "+Arrays.toString(seleccion.pastelerosOriginales()));
+            Reordenacion reordenacion = null;
+            if(opciones.getOrdenPedidos() != OrdenPedidos.ENTRADA){
+                reordenacion = new Reordenacion(reordenada, opciones.getOrdenPedidos());
+                reordenada   = reordenacion.instancia();
+                if(traza.activa())
+                    traza.escribir("SYSTEM: se ordenan los pedidos por "+opciones.getOrdenPedidos().getArgumento()+". Pedidos => "
+                            +Arrays.toString(reordenada.pedidos()));
+            }
+            Simetrias simetrias = null;
+            if(opciones.rompeSimetrias()){
+                simetrias  = new Simetrias(reordenada);
+                reordenada = simetrias.instancia();
+                if(traza.activa())
+                    traza.escribir("SYSTEM: se agrupan los pedidos por tipo de pastel para romper las simetrías. Pedidos => "
+                            +Arrays.toString(reordenada.pedidos()));
+            }
+
+            Resultado resultado = new Busqueda(reordenada, simetrias, traza).asignaPasteleros();
+            int[] pasteleros = resultado.getPasteleros();
+            if(simetrias != null) pasteleros = simetrias.restaurar(pasteleros);
+            if(reordenacion != null) pasteleros = reordenacion.restaurar(pasteleros);
+            pasteleros = seleccion.restaurar(pasteleros);
+            return Resultado.desdeAsignacion(instancia, pasteleros, resultado.getEstadisticas(),
+                    resultado.esOptima() ? Float.POSITIVE_INFINITY : resultado.getCotaInferior());
+        } finally {
+            traza.volcar();
+        }
+    }
+
+    /**
+     * Crea un literal a partir del contenido de un nodo que todavía no se ha añadido a la arena de asignaciones. Solo
+     * debe llamarse con las trazas activas.
+     * @param nodo nodo a partir del cual crear un literal.
+     * @param arena arena de asignaciones de la búsqueda.
+     * @param numPedidos número de pedidos.
+     * @param numPasteleros número de pasteleros.
+     * @param entrada entrada en la arena del padre o, si pastelero es -1, del propio nodo.
+     * @param pastelero pastelero asignado en el nodo, -1 si el nodo ya está en la arena.
+     * @return literal con el contenido del nodo.
+     */
+    private static String instantanea(Nodo nodo, ArenaAsignaciones arena, int numPedidos, int numPasteleros, int entrada,
+                                      int pastelero){
+        int[] pasteleros;
+        if(pastelero < 0)
+            pasteleros = arena.reconstruir(entrada, numPedidos, nodo.numNodo);
+        else{
+            pasteleros = arena.reconstruir(entrada, numPedidos, nodo.numNodo-1);
+            pasteleros[nodo.numNodo] = pastelero;
+        }
+        return instantanea(nodo, pasteleros, numPasteleros);
+    }
+
+    /**
+     * Crea un literal a partir del contenido de un nodo y de su asignación parcial. Solo debe llamarse con las trazas
+     * activas.
+     * @param nodo nodo a partir del cual crear un literal.
+     * @param pasteleros asignación parcial del nodo.
+     * @param numPasteleros número de pasteleros.
+     * @return literal con el contenido del nodo.
+     */
+    private static String instantanea(Nodo nodo, int[] pasteleros, int numPasteleros){
+        StringBuilder datos = new StringBuilder("pasteleros:{");
+        for(int i=0; i<pasteleros.length; i++)
+            datos.append(pasteleros[i]).append(i==pasteleros.length-1?"":",");
+        datos.append("}  ");
+
+        datos.append("booAsignados:{");
+        for(int k=0; k<numPasteleros; k++)
+            datos.append(nodo.estaAsignado(k)).append(k==numPasteleros-1?"":",");
+        datos.append("}  ");
+
+        datos.append("costeTotal:").append(nodo.costeTotal).append("   estOpt:").append(nodo.estOpt)
+             .append("   numNodo:").append(nodo.numNodo);
+
+        return datos.toString();
+    }
+
+    /**
+     * Estado de una resolución: datos de la instancia, cota, mejor solución y estructuras de la búsqueda.
+     */
+    private final class Busqueda {
+
+        /**
+         * Tabla de costes de elaboración de cada pastel por cada pastelero.
+         */
+        private final float[][] tabla_costes;
+
+        /**
+         * Lista de pedidos.
+         */
+        private final int[] pedidos;
+
+        /**
+         * Salida de las trazas.
+         */
+        private final Traza traza;
+
+        /**
+         * Estimaciones de la instancia.
+         */
+        private final Cotas cotas;
+
+        /**
+         * Pasteleros a probar para el siguiente pedido de cada nodo.
+         */
+        private final Candidatos candidatos;
+
+        /**
+         * Pasteleros a probar del nodo que se está expandiendo. Se reutiliza en cada expansión.
+         */
+        private final int[] aProbar;
+
+        /**
+         * Tabla de dominancia de la búsqueda, null si no se poda por dominancia.
+         */
+        private final TablaDominancia dominancia;
+
+        /**
+         * Arena de asignaciones de los nodos del montículo.
+         */
+        private final ArenaAsignaciones arena = new ArenaAsignaciones();
+
+        /**
+         * Estadísticas de la búsqueda.
+         */
+        private final Estadisticas estadisticas = new Estadisticas();
+
+        /**
+         * Instante de inicio de la búsqueda en nanosegundos.
+         */
+        private final long inicio = System.nanoTime();
+
+        /**
+         * Cota actual.
+         */
+        private float cota;
+
+        /**
+         * Mejor solución encontrada.
+         */
+        private int[] pasteleros_sol = new int[0];
+
+        /**
+         * Coste de la mejor solución encontrada.
+         */
+        private float costeT_sol = 0f;
+
+        /**
+         * Prepara la búsqueda de la instancia.
+         * @param instancia instancia a resolver.
+         * @param simetrias ruptura de simetrías de la instancia, null si no se rompen.
+         * @param traza salida de las trazas.
+         */
+        Busqueda(Instancia instancia, Simetrias simetrias, Traza traza){
+            this.tabla_costes = instancia.tablaCostes();
+            this.pedidos      = instancia.pedidos();
+            this.traza        = traza;
+
+            traza.escribir("SYSTEM: inicio de algoritmo de asignación de pasteleros a pedidos.");
+            traza.escribir("SYSTEM: se inician variables y el primer nodo.");
+            this.cotas      = new Cotas(instancia, opciones.getTipoCota(), opciones.getOrdenPasteleros() == OrdenPasteleros.COSTE);
+            this.candidatos = new Candidatos(cotas, pedidos, simetrias, opciones.getOrdenPasteleros());
+            this.aProbar    = new int[cotas.getNumPasteleros()];
+            this.dominancia = !opciones.podaDominancia() ? null : new TablaDominancia(
+                    TablaDominancia.capacidadPara(cotas.getNumPasteleros(), TablaDominancia.CAPACIDAD_MAXIMA));
+            traza.escribir("SYSTEM: se han precalculado las tablas de costes mínimos y máximos por tipo de pastel.");
+        }
+
+        /**
+         * Algoritmo de ramificación y poda para la asignación de pasteleros a cada pedido con coste mínimo.
+         * Los mensajes de traza que concatenan datos se construyen solo si las trazas están activas.
+         * @return asignación de coste mínimo o, si se agota el presupuesto, la mejor encontrada con su cota inferior.
+         */
+        Resultado asignaPasteleros(){
+            Nodo nodo = new Nodo(cotas.getNumPasteleros());
+            nodo.numNodo = -1;
+            nodo.estOpt  = cotas.estimacionOptRaiz(nodo);
+            cota = cotas.estimacionPes(nodo.numNodo,nodo.costeTotal);
+            if(traza.activa()){
+                traza.escribir("SYSTEM: se utiliza la cota optimista de tipo "+opciones.getTipoCota().getArgumento()+".");
+                traza.escribir("SYSTEM: la estimación optimista del primer nodo es: "+nodo.estOpt);
+                traza.escribir("SYSTEM: la cota es: "+cota);
+            }
+
+            //Solución inicial: su coste es la cota de partida
+            int[] inicial      = SolucionInicial.construir(tabla_costes, pedidos, cotas.getNumPasteleros());
+            float costeInicial = SolucionInicial.coste(tabla_costes, pedidos, inicial);
+            if(costeInicial <= cota){
+                pasteleros_sol = inicial;
+                costeT_sol     = costeInicial;
+                cota           = costeInicial;
+                estadisticas.registrarSolucion(System.nanoTime()-inicio);
+                if(traza.activa())
+                    traza.escribir("SYSTEM: la solución inicial voraz con búsqueda local cuesta "+costeInicial+", la cota es: "+cota);
+            }
+            estadisticas.estOptRaiz  = nodo.estOpt;
+            estadisticas.cotaInicial = cota;
+            estadisticas.nodosCreados++;
+
+            float cotaInferior = opciones.getEstrategia() == Estrategia.PROFUNDIDAD
+                    ? profundidad(nodo, new int[pedidos.length])
+                    : primeroElMejor(nodo);
+            if(traza.activa() && cotaInferior != Float.POSITIVE_INFINITY)
+                traza.escribir("SYSTEM: la cota inferior del óptimo es "+cotaInferior+" y la mejor solución cuesta "+costeT_sol);
+
+            estadisticas.tiempoTotal = System.nanoTime()-inicio;
+            return new Resultado(pasteleros_sol, costeT_sol, estadisticas, cotaInferior);
+        }
+
+        /**
+         * Búsqueda primero el mejor a partir del nodo raíz. Con la estrategia híbrida, cuando el montículo alcanza su
+         * tamaño máximo el subárbol de cada nodo extraído se explora en profundidad.
+         * @param raiz nodo raíz.
+         * @return cota inferior del óptimo si se agota el presupuesto o se han descartado nodos prometedores por el
+         * tamaño de la frontera, infinito si se completa la búsqueda.
+         */
+        private float primeroElMejor(Nodo raiz){
+            MonticuloMinMax montC = new MonticuloMinMax(opciones.getDesempate());
+            Nodo nodo;
+            float cotaInferior    = Float.POSITIVE_INFINITY;
+            float menorDescartada = Float.POSITIVE_INFINITY;
+            float cotaPoda        = cota;
+
+            montC.insertar(raiz);
+            estadisticas.nodosInsertados++;
+            estadisticas.registrarTamanoMonticulo(montC.tamano());
+            traza.escribir("SYSTEM: se ha insertado el primer nodo en el montículo");
+
+            while( (!montC.elMonticuloEstaVacio())
+                    &&
+                    (montC.claveCima() <= cota) )
+            {
+                //Si ha bajado la cota, se eliminan los nodos del montículo que la superan
+                if(cota < cotaPoda){
+                    int eliminados = montC.podar(cota);
+                    estadisticas.nodosPodados += eliminados;
+                    cotaPoda = cota;
+                    if(traza.activa() && eliminados > 0)
+                        traza.escribir("\n\nSYSTEM: la cota ha bajado a "+cota+", se eliminan "+eliminados+" nodos del montículo.");
+                }
+                if(opciones.getPresupuesto().agotado(estadisticas.nodosExpandidos, inicio)){
+                    traza.escribir("\n\nSYSTEM: se ha agotado el presupuesto de la búsqueda.");
+                    break;
+                }
+
+                //Con el montículo lleno, el subárbol del mejor nodo se explora en profundidad
+                if(opciones.getEstrategia() == Estrategia.HIBRIDA && montC.tamano() >= opciones.getLimiteMonticulo()){
+                    nodo = montC.obtenerCima();
+                    if(traza.activa())
+                        traza.escribir("\n\nSYSTEM: el montículo tiene "+(montC.tamano()+1)+" nodos, se explora en profundidad el subárbol del primero.");
+                    cotaInferior = profundidad(nodo, arena.reconstruir(nodo.indice, pedidos.length, nodo.numNodo));
+                    if(cotaInferior != Float.POSITIVE_INFINITY) break;
+                    continue;
+                }
+
+                traza.escribir("\n\nSYSTEM: se generan los nodos para cada pastelero no asignado.");
+                nodo = montC.obtenerCima();
+                if(estaDominado(nodo)){
+                    estadisticas.nodosDominados++;
+                    traza.escribir("SYSTEM: el nodo está dominado por otro con los mismos pasteleros asignados, no se expande.");
+                    continue;
+                }
+                estadisticas.nodosExpandidos++;
+                if(traza.activa())
+                    traza.escribir("SYSTEM: instantánea del primer nodo del montículo => "+instantanea(nodo,arena,pedidos.length,cotas.getNumPasteleros(),nodo.indice,-1));
+
+                int total = candidatos.generar(nodo, aProbar);
+                for(int k=0; k<total; k++){
+                    int i = aProbar[k];
+                    Nodo hijo = generarHijo(nodo, i, null);
+                    if(hijo == null) continue;
+                    hijo.indice = arena.anadir(nodo.indice,i);
+                    montC.insertar(hijo);
+                    estadisticas.nodosInsertados++;
+                    estadisticas.registrarTamanoMonticulo(montC.tamano());
+                    if(opciones.getFrontera() > 0 && montC.tamano() > opciones.getFrontera()){
+                        Nodo peor = montC.obtenerMaximo();
+                        menorDescartada = Math.min(menorDescartada, peor.estOpt);
+                        estadisticas.nodosDescartados++;
+                        if(traza.activa())
+                            traza.escribir("SYSTEM: la frontera supera los "+opciones.getFrontera()+" nodos, se descarta el de estimación optimista "+peor.estOpt);
+                    }
+                }
+            }
+
+            //Si se ha agotado el presupuesto, el óptimo no puede ser menor que la menor estimación optimista del montículo
+            if(!montC.elMonticuloEstaVacio() && montC.claveCima() <= cota)
+                cotaInferior = Math.min(cotaInferior, montC.claveCima());
+            //Los nodos descartados por el tamaño de la frontera que no superan la cota final podían llevar al óptimo
+            if(menorDescartada <= cota)
+                cotaInferior = Math.min(cotaInferior, menorDescartada);
+
+            //Los nodos que quedan en el montículo superan la cota o no se han explorado por agotar el presupuesto
+            estadisticas.nodosPodados += montC.tamano();
+            return cotaInferior;
+        }
+
+        /**
+         * Búsqueda en profundidad del subárbol de un nodo. En cada nivel se guardan los hijos del nodo del camino
+         * actual ordenados por estimación optimista, y se desciende primero por el de menor estimación. En memoria
+         * solo están los hijos pendientes de cada nivel, como mucho n*p nodos, y no se utiliza la arena de
+         * asignaciones.
+         * @param raiz nodo raíz del subárbol.
+         * @param asignacion asignación parcial del nodo raíz, de longitud igual al número de pedidos. Se modifica.
+         * @return cota inferior del óptimo en el subárbol si se agota el presupuesto, infinito si se explora entero.
+         */
+        private float profundidad(Nodo raiz, int[] asignacion){
+            int n = pedidos.length;
+            int base = raiz.numNodo+1;
+            Nodo[][] hijos = new Nodo[n][];
+            int[] tamano    = new int[n];
+            int[] siguiente = new int[n];
+
+            if(estaDominado(raiz)){
+                estadisticas.nodosDominados++;
+                return Float.POSITIVE_INFINITY;
+            }
+            if(base == n) return Float.POSITIVE_INFINITY;
+            expandir(raiz, asignacion, hijos, tamano, siguiente);
+            int nivel = base;
+
+            while(nivel >= base){
+                if(siguiente[nivel] == tamano[nivel]){
+                    nivel--;
+                    continue;
+                }
+                Nodo nodo = hijos[nivel][siguiente[nivel]];
+                hijos[nivel][siguiente[nivel]++] = null;
+
+                //Los hijos están ordenados: si uno supera la cota, también los siguientes
+                if(nodo.estOpt > cota){
+                    estadisticas.nodosPodados += tamano[nivel]-siguiente[nivel]+1;
+                    Arrays.fill(hijos[nivel], siguiente[nivel], tamano[nivel], null);
+                    siguiente[nivel] = tamano[nivel];
+                    continue;
+                }
+                if(estaDominado(nodo)){
+                    estadisticas.nodosDominados++;
+                    traza.escribir("SYSTEM: el nodo está dominado por otro con los mismos pasteleros asignados, no se expande.");
+                    continue;
+                }
+                if(opciones.getPresupuesto().agotado(estadisticas.nodosExpandidos, inicio)){
+                    traza.escribir("\n\nSYSTEM: se ha agotado el presupuesto de la búsqueda.");
+                    //El primer hijo pendiente de cada nivel es el de menor estimación optimista
+                    float cotaInferior = nodo.estOpt;
+                    for(int l=base; l<=nivel; l++)
+                        if(siguiente[l] < tamano[l]) cotaInferior = Math.min(cotaInferior, hijos[l][siguiente[l]].estOpt);
+                    return cotaInferior;
+                }
+                asignacion[nivel] = nodo.ultimoPastelero;
+                expandir(nodo, asignacion, hijos, tamano, siguiente);
+                nivel++;
+            }
+            return Float.POSITIVE_INFINITY;
+        }
+
+        /**
+         * Genera los hijos de un nodo en la búsqueda en profundidad y los ordena por estimación optimista.
+         * @param nodo nodo a expandir.
+         * @param asignacion asignación parcial del nodo.
+         * @param hijos hijos pendientes de cada nivel.
+         * @param tamano número de hijos de cada nivel.
+         * @param siguiente siguiente hijo a explorar de cada nivel.
+         */
+        private void expandir(Nodo nodo, int[] asignacion, Nodo[][] hijos, int[] tamano, int[] siguiente){
+            estadisticas.nodosExpandidos++;
+            if(traza.activa())
+                traza.escribir("\n\nSYSTEM: se expande en profundidad el nodo => "+instantanea(nodo,Arrays.copyOf(asignacion,nodo.numNodo+1),cotas.getNumPasteleros()));
+            int nivel = nodo.numNodo+1;
+            if(hijos[nivel] == null) hijos[nivel] = new Nodo[cotas.getNumPasteleros()];
+            int total = 0;
+            int numCandidatos = candidatos.generar(nodo, aProbar);
+            for(int k=0; k<numCandidatos; k++){
+                Nodo hijo = generarHijo(nodo, aProbar[k], asignacion);
+                if(hijo != null) hijos[nivel][total++] = hijo;
+            }
+            Arrays.sort(hijos[nivel], 0, total, POR_ESTIMACION);
+            tamano[nivel]    = total;
+            siguiente[nivel] = 0;
+        }
+
+        /**
+         * Asigna un pastelero al siguiente pedido de un nodo. Si la asignación es completa se actualiza la solución
+         * cuando no supera la cota; si no, se genera el hijo, se descarta si está dominado o su estimación optimista
+         * supera la cota, y se rebaja la cota con su estimación pesimista.
+         * @param nodo nodo a expandir.
+         * @param i pastelero a asignar.
+         * @param asignacion asignación parcial del nodo en la búsqueda en profundidad, null en la búsqueda primero el
+         *                   mejor, que la obtiene de la arena.
+         * @return hijo a explorar, null si es una solución completa o se ha descartado.
+         */
+        private Nodo generarHijo(Nodo nodo, int i, int[] asignacion){
+            int pedido = nodo.numNodo+1;
+            if(traza.activa()) traza.escribir("\nSYSTEM: se asigna el pastelero "+i+" al pedido "+pedido);
+            float coste = nodo.costeTotal + tabla_costes[i][pedidos[pedido]-1];
+
+            if( pedido == pedidos.length-1 ){
+                if( cota >= coste ){
+                    if(traza.activa()){
+                        traza.escribir("SYSTEM: cota:"+cota+" es "+( (cota> coste)?"mayor que":"igual al" )+" costeTotal:"+coste);
+                        traza.escribir("SYSTEM: se actualiza la solución, el coste y la cota.");
+                    }
+                    if(asignacion == null)
+                        pasteleros_sol = arena.reconstruir(arena.anadir(nodo.indice,i), pedidos.length, pedido);
+                    else{
+                        pasteleros_sol = asignacion.clone();
+                        pasteleros_sol[pedido] = i;
+                    }
+                    costeT_sol     = coste;
+                    cota           = costeT_sol;
+                    estadisticas.registrarSolucion(System.nanoTime()-inicio);
+                }
+                else estadisticas.nodosPodados++;
+                return null;
+            }
+
+            //Solución no completa
+            traza.escribir("SYSTEM: solución no completa.");
+            Nodo hijo = nodo.generarHijo(i,coste);
+            estadisticas.nodosCreados++;
+            int restriccion = restriccion(hijo);
+            if(dominancia != null && !dominancia.registrar(hijo, restriccion)){
+                estadisticas.nodosDominados++;
+                traza.escribir("SYSTEM: el nodo está dominado por otro con los mismos pasteleros asignados y menor o igual coste.");
+                return null;
+            }
+            hijo.estOpt = cotas.estimacionOptHijo(nodo,hijo,i);
+            boolean prometedor = hijo.estOpt <= cota;
+            if(!prometedor) estadisticas.nodosPodados++;
+            float estPes = cotas.estimacionPes(hijo.numNodo, hijo.costeTotal);
+            if(traza.activa()){
+                traza.escribir("SYSTEM: la estimación optimista es " + hijo.estOpt + " y la cota es "+cota+". "+( prometedor?"Se":"No se" )
+                        +( asignacion == null ? " inserta el nodo en el montículo" : " explorará el nodo en profundidad" ));
+                traza.escribir("SYSTEM: cota:" + cota + " " + ((cota > estPes) ? "" : "no") + " es mayor que la estPes:" + estPes);
+                String datos;
+                if(asignacion == null) datos = instantanea(hijo,arena,pedidos.length,cotas.getNumPasteleros(),nodo.indice,i);
+                else{
+                    int[] parcial = Arrays.copyOf(asignacion, hijo.numNodo+1);
+                    parcial[hijo.numNodo] = i;
+                    datos = instantanea(hijo,parcial,cotas.getNumPasteleros());
+                }
+                traza.escribir("SYSTEM: instantánea del nodo hijo => "+datos);
+            }
+            //Un nodo con restricción puede no tener ninguna solución, su estimación pesimista no es válida
+            if (cota > estPes && restriccion < 0)
+                cota = estPes;
+            return prometedor ? hijo : null;
+        }
+
+        /**
+         * Indica si un nodo extraído está dominado por otro registrado después con los mismos pasteleros asignados y
+         * menor coste.
+         * @see pasteleria.TablaDominancia#estaDominado
+         * @param nodo nodo a consultar.
+         * @return true si está dominado, siempre false si no se poda por dominancia.
+         */
+        private boolean estaDominado(Nodo nodo){
+            return dominancia != null && dominancia.estaDominado(nodo, restriccion(nodo));
+        }
+
+        /**
+         * Restricción del nodo por la ruptura de simetrías.
+         * @see pasteleria.Simetrias#restriccion
+         * @param nodo nodo a consultar.
+         * @return restricción del nodo, -1 si no tiene.
+         */
+        private int restriccion(Nodo nodo){
+            return candidatos.restriccion(nodo);
+        }
+    }
+}
@@ -0,0 +1,400 @@
+package pasteleria;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Algoritmo de ramificación y poda paralelo para el problema de la pastelería. Los primeros niveles del árbol se
+ * ramifican creando una tarea por hijo en un ForkJoinPool, que reparte las tareas entre los hilos robando trabajo a los
+ * hilos ocupados. A partir de la profundidad de corte cada tarea explora su subárbol con la misma búsqueda primero el
+ * mejor que la versión secuencial, con su propio montículo, su propia arena de asignaciones y su propia tabla de
+ * dominancia, de menor capacidad que la secuencial. Opcionalmente se rompen las simetrías entre pedidos del mismo tipo
+ * de pastel y se cambia el orden de los pedidos y de los pasteleros igual que en la versión secuencial.
+ * La cota y la mejor solución se comparten entre todas las tareas sin bloqueos mediante variables atómicas, de forma
+ * que la poda que consigue un hilo aprovecha a los demás. A igualdad de coste se conserva la asignación
+ * lexicográficamente menor, por lo que el resultado no depende del reparto de trabajo entre los hilos.
+ * El solucionador solo guarda su configuración; cada llamada a resolver crea su propia búsqueda. No se trazan los
+ * pasos de la búsqueda.
+ * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
+ * @author Asier Rodríguez López
+ * @version 1.0
+ * @since 2.0
+ */
+public class RamificacionYPodaParalela implements Solucionador {
+
+    /**
+     * Número de tareas por hilo que se pretende generar antes de pasar a la búsqueda secuencial de cada subárbol.
+     */
+    private static final int TAREAS_POR_HILO = 8;
+
+    /**
+     * Capacidad máxima de la tabla de dominancia de cada tarea.
+     */
+    private static final int CAPACIDAD_DOMINANCIA_TAREA = 1 << 16;
+
+    /**
+     * Opciones de la búsqueda.
+     */
+    private final OpcionesRamificacion opciones;
+
+    /**
+     * Constructor del algoritmo paralelo. Se utilizan la cota, la ruptura de simetrías, la poda por dominancia, el
+     * orden de los pedidos y de los pasteleros, el desempate y el número de hilos de las opciones.
+     * @param opciones opciones de la búsqueda.
+     * @throws IllegalArgumentException si las opciones tienen trazas, presupuesto, una estrategia distinta de primero el
+     * mejor o límite de frontera, que solo admite la versión secuencial.
+     */
+    public RamificacionYPodaParalela(OpcionesRamificacion opciones){
+        if(opciones.trazasActivas() || !opciones.getPresupuesto().esIlimitado()
+                || opciones.getEstrategia() != Estrategia.PRIMERO_MEJOR || opciones.getFrontera() > 0)
+            throw new IllegalArgumentException("ERROR: la ramificación y poda paralela no admite trazas, presupuesto, estrategia ni frontera.");
+        this.opciones = opciones;
+    }
+
+    @Override
+    public Resultado resolver(Instancia instancia){
+        SeleccionPasteleros seleccion = new SeleccionPasteleros(instancia);
+        Instancia seleccionada    = seleccion.instancia();
+        Reordenacion reordenacion = opciones.getOrdenPedidos() != OrdenPedidos.ENTRADA
+                ? new Reordenacion(seleccionada, opciones.getOrdenPedidos()) : null;
+        Instancia reordenada = reordenacion == null ? seleccionada : reordenacion.instancia();
+        Simetrias simetrias  = opciones.rompeSimetrias() ? new Simetrias(reordenada) : null;
+        Busqueda busqueda = new Busqueda(simetrias == null ? reordenada : simetrias.instancia(), simetrias);
+        ForkJoinPool pool = new ForkJoinPool(opciones.getHilos());
+        try {
+            pool.invoke(busqueda.raiz());
+        } finally {
+            pool.shutdown();
+        }
+        busqueda.estadisticas.tiempoTotal = System.nanoTime()-busqueda.inicio;
+        Solucion mejor = busqueda.mejor.get();
+        if(simetrias == null && reordenacion == null && !seleccion.descartaPasteleros())
+            return new Resultado(mejor.pasteleros, mejor.coste, busqueda.estadisticas);
+        int[] pasteleros = mejor.pasteleros;
+        if(simetrias != null) pasteleros = simetrias.restaurar(pasteleros);
+        if(reordenacion != null) pasteleros = reordenacion.restaurar(pasteleros);
+        pasteleros = seleccion.restaurar(pasteleros);
+        return Resultado.desdeAsignacion(instancia, pasteleros, busqueda.estadisticas);
+    }
+
+    /**
+     * Solución completa e inmutable: pastelero asignado a cada pedido y coste total.
+     */
+    private static final class Solucion {
+
+        /**
+         * Pastelero asignado a cada pedido.
+         */
+        final int[] pasteleros;
+
+        /**
+         * Coste total de la asignación.
+         */
+        final float coste;
+
+        /**
+         * Constructor de la solución.
+         * @param pasteleros pastelero asignado a cada pedido.
+         * @param coste coste total de la asignación.
+         */
+        Solucion(int[] pasteleros, float coste){
+            this.pasteleros = pasteleros;
+            this.coste      = coste;
+        }
+    }
+
+    /**
+     * Indica si una solución es mejor que otra: menor coste o, a igualdad de coste, asignación lexicográficamente menor.
+     * @param a primera solución.
+     * @param b segunda solución.
+     * @return true si a es mejor que b.
+     */
+    private static boolean esMejor(Solucion a, Solucion b){
+        if(a.coste != b.coste) return a.coste < b.coste;
+        for(int i=0; i<a.pasteleros.length; i++)
+            if(a.pasteleros[i] != b.pasteleros[i]) return a.pasteleros[i] < b.pasteleros[i];
+        return false;
+    }
+
+    /**
+     * Estado compartido de una resolución: datos de la instancia, cota y mejor solución.
+     */
+    private final class Busqueda {
+
+        /**
+         * Tabla de costes de elaboración de cada pastel por cada pastelero.
+         */
+        private final float[][] tablaCostes;
+
+        /**
+         * Lista de pedidos.
+         */
+        private final int[] pedidos;
+
+        /**
+         * Estimaciones de la instancia.
+         */
+        private final Cotas cotas;
+
+        /**
+         * Pasteleros a probar para el siguiente pedido de cada nodo.
+         */
+        private final Candidatos candidatos;
+
+        /**
+         * Cota compartida por todas las tareas, guardada como los bits de un float.
+         */
+        private final AtomicInteger cota = new AtomicInteger();
+
+        /**
+         * Mejor solución encontrada por cualquiera de las tareas.
+         */
+        private final AtomicReference<Solucion> mejor = new AtomicReference<>(new Solucion(new int[0], 0f));
+
+        /**
+         * Número de pedidos asignados a partir del cual cada tarea explora su subárbol sin crear nuevas tareas.
+         */
+        private final int profundidadCorte;
+
+        /**
+         * Estadísticas de la búsqueda. Cada tarea cuenta sobre las suyas y las acumula aquí al terminar.
+         */
+        private final Estadisticas estadisticas = new Estadisticas();
+
+        /**
+         * Instante de inicio de la búsqueda en nanosegundos.
+         */
+        private final long inicio = System.nanoTime();
+
+        /**
+         * Prepara la búsqueda de la instancia.
+         * @param instancia instancia a resolver.
+         * @param simetrias ruptura de simetrías de la instancia, null si no se rompen.
+         */
+        Busqueda(Instancia instancia, Simetrias simetrias){
+            this.tablaCostes = instancia.tablaCostes();
+            this.pedidos     = instancia.pedidos();
+            this.cotas       = new Cotas(instancia, opciones.getTipoCota(), opciones.getOrdenPasteleros() == OrdenPasteleros.COSTE);
+            this.candidatos  = new Candidatos(cotas, pedidos, simetrias, opciones.getOrdenPasteleros());
+
+            //Profundidad de corte: el menor número de niveles que genera suficientes tareas para todos los hilos
+            int n = pedidos.length, p = cotas.getNumPasteleros(), profundidad = 0;
+            long tareas = 1;
+            while(profundidad < n-1 && tareas < (long) TAREAS_POR_HILO*opciones.getHilos()){
+                tareas *= p-profundidad;
+                profundidad++;
+            }
+            this.profundidadCorte = profundidad;
+        }
+
+        /**
+         * Crea la tarea del nodo raíz e inicializa la cota con la estimación pesimista de la raíz y la solución inicial.
+         * @see pasteleria.SolucionInicial
+         * @return tarea del nodo raíz.
+         */
+        Subarbol raiz(){
+            Nodo raiz    = new Nodo(cotas.getNumPasteleros());
+            raiz.numNodo = -1;
+            raiz.estOpt  = cotas.estimacionOptRaiz(raiz);
+            cota.set(Float.floatToIntBits(cotas.estimacionPes(raiz.numNodo,raiz.costeTotal)));
+            int[] inicial = SolucionInicial.construir(tablaCostes, pedidos, cotas.getNumPasteleros());
+            float coste   = SolucionInicial.coste(tablaCostes, pedidos, inicial);
+            if(coste <= leerCota()) proponerSolucion(inicial, coste);
+            estadisticas.estOptRaiz  = raiz.estOpt;
+            estadisticas.cotaInicial = leerCota();
+            estadisticas.nodosCreados++;
+            return new Subarbol(raiz, new int[0]);
+        }
+
+        /**
+         * Devuelve el valor actual de la cota compartida.
+         * @return cota compartida.
+         */
+        private float leerCota(){
+            return Float.intBitsToFloat(cota.get());
+        }
+
+        /**
+         * Rebaja la cota compartida si el valor indicado es menor que el actual.
+         * @param valor nuevo valor de la cota.
+         */
+        private void rebajarCota(float valor){
+            int actual;
+            do{
+                actual = cota.get();
+                if(Float.intBitsToFloat(actual) <= valor) return;
+            } while(!cota.compareAndSet(actual, Float.floatToIntBits(valor)));
+        }
+
+        /**
+         * Propone una solución completa. Se guarda si mejora a la actual o si, con el mismo coste, es
+         * lexicográficamente menor.
+         * @param pasteleros pastelero asignado a cada pedido.
+         * @param coste coste total de la solución.
+         */
+        private void proponerSolucion(int[] pasteleros, float coste){
+            Solucion nueva = new Solucion(pasteleros, coste);
+            Solucion actual;
+            do{
+                actual = mejor.get();
+                if(actual.pasteleros.length > 0 && !esMejor(nueva, actual)){
+                    rebajarCota(coste);
+                    return;
+                }
+            } while(!mejor.compareAndSet(actual, nueva));
+            rebajarCota(coste);
+            synchronized(estadisticas){
+                estadisticas.registrarSolucion(System.nanoTime()-inicio);
+            }
+        }
+
+        /**
+         * Genera el hijo de un nodo que asigna un pastelero al siguiente pedido, sin ser este el último. Se descarta si
+         * está dominado o su estimación optimista supera la cota, y se rebaja la cota con su estimación pesimista.
+         * @param padre nodo a expandir.
+         * @param i pastelero a asignar.
+         * @param coste coste del hijo.
+         * @param dominancia tabla de dominancia de la tarea, null si no se comprueba la dominancia.
+         * @param locales estadísticas de la tarea.
+         * @return hijo a explorar, null si se ha descartado.
+         */
+        private Nodo generarHijo(Nodo padre, int i, float coste, TablaDominancia dominancia, Estadisticas locales){
+            Nodo hijo = padre.generarHijo(i,coste);
+            locales.nodosCreados++;
+            int restriccion = candidatos.restriccion(hijo);
+            if(dominancia != null && !dominancia.registrar(hijo, restriccion)){
+                locales.nodosDominados++;
+                return null;
+            }
+            hijo.estOpt = cotas.estimacionOptHijo(padre,hijo,i);
+            boolean prometedor = hijo.estOpt <= leerCota();
+            if(!prometedor) locales.nodosPodados++;
+            if(restriccion < 0) rebajarCota(cotas.estimacionPes(hijo.numNodo,hijo.costeTotal));
+            return prometedor ? hijo : null;
+        }
+
+        /**
+         * Tarea que explora el subárbol de un nodo.
+         */
+        private final class Subarbol extends RecursiveAction {
+
+            /**
+             * Versión de serialización, requerida por RecursiveAction aunque las tareas no se serializan.
+             */
+            private static final long serialVersionUID = 1L;
+
+            /**
+             * Nodo raíz del subárbol.
+             */
+            private final Nodo nodo;
+
+            /**
+             * Pasteleros asignados a los pedidos hasta el nodo raíz del subárbol.
+             */
+            private final int[] prefijo;
+
+            /**
+             * Estadísticas locales de la tarea.
+             */
+            private final Estadisticas locales = new Estadisticas();
+
+            /**
+             * Constructor de la tarea.
+             * @param nodo nodo raíz del subárbol.
+             * @param prefijo pasteleros asignados a los pedidos hasta el nodo raíz del subárbol.
+             */
+            Subarbol(Nodo nodo, int[] prefijo){
+                this.nodo    = nodo;
+                this.prefijo = prefijo;
+            }
+
+            @Override
+            protected void compute(){
+                if(nodo.estOpt > leerCota()) locales.nodosPodados++;
+                else if(nodo.numNodo+1 < profundidadCorte) ramificar();
+                else buscar();
+                estadisticas.acumular(locales);
+            }
+
+            /**
+             * Crea una tarea por cada hijo prometedor del nodo y espera a que terminen.
+             */
+            private void ramificar(){
+                ArrayList<Subarbol> tareas = new ArrayList<>();
+                int pedido = nodo.numNodo+1;
+
+                int[] aProbar = new int[cotas.getNumPasteleros()];
+                int total     = candidatos.generar(nodo, aProbar);
+                for(int k=0; k<total; k++){
+                    int i = aProbar[k];
+                    float coste = nodo.costeTotal + tablaCostes[i][pedidos[pedido]-1];
+                    int[] asignacion = Arrays.copyOf(prefijo, pedido+1);
+                    asignacion[pedido] = i;
+
+                    if(pedido == pedidos.length-1){
+                        if(coste <= leerCota()) proponerSolucion(asignacion, coste);
+                        else locales.nodosPodados++;
+                        continue;
+                    }
+
+                    Nodo hijo = generarHijo(nodo, i, coste, null, locales);
+                    if(hijo != null) tareas.add(new Subarbol(hijo, asignacion));
+                }
+                invokeAll(tareas);
+            }
+
+            /**
+             * Búsqueda primero el mejor del subárbol, igual que la versión secuencial pero con la cota compartida.
+             */
+            private void buscar(){
+                MonticuloNodos montC    = new MonticuloNodos(opciones.getDesempate());
+                ArenaAsignaciones arena = new ArenaAsignaciones();
+                TablaDominancia dominancia = !opciones.podaDominancia() ? null : new TablaDominancia(
+                        TablaDominancia.capacidadPara(cotas.getNumPasteleros(), CAPACIDAD_DOMINANCIA_TAREA));
+                int[] aProbar = new int[cotas.getNumPasteleros()];
+                montC.insertar(nodo);
+                locales.nodosInsertados++;
+                locales.registrarTamanoMonticulo(montC.tamano());
+
+                while(!montC.elMonticuloEstaVacio() && montC.claveCima() <= leerCota()){
+                    Nodo actual = montC.obtenerCima();
+                    if(dominancia != null && dominancia.estaDominado(actual, candidatos.restriccion(actual))){
+                        locales.nodosDominados++;
+                        continue;
+                    }
+                    locales.nodosExpandidos++;
+                    int pedido  = actual.numNodo+1;
+
+                    int total = candidatos.generar(actual, aProbar);
+                    for(int k=0; k<total; k++){
+                        int i = aProbar[k];
+                        float coste = actual.costeTotal + tablaCostes[i][pedidos[pedido]-1];
+
+                        if(pedido == pedidos.length-1){
+                            if(coste <= leerCota()){
+                                int[] asignacion = arena.reconstruir(arena.anadir(actual.indice,i), pedidos.length, pedido);
+                                System.arraycopy(prefijo, 0, asignacion, 0, prefijo.length);
+                                proponerSolucion(asignacion, coste);
+                            }
+                            else locales.nodosPodados++;
+                            continue;
+                        }
+
+                        Nodo hijo = generarHijo(actual, i, coste, dominancia, locales);
+                        if(hijo == null) continue;
+                        hijo.indice = arena.anadir(actual.indice,i);
+                        montC.insertar(hijo);
+                        locales.nodosInsertados++;
+                        locales.registrarTamanoMonticulo(montC.tamano());
+                    }
+                }
+                //Los nodos que quedan en el montículo superan la cota
+                locales.nodosPodados += montC.tamano();
+            }
+        }
+    }
+}
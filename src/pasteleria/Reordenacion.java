@@ -0,0 +1,103 @@
+package pasteleria;
+
+import java.util.Arrays;
+
+/**
+ * Reordenación de los pedidos de una instancia para que el algoritmo de ramificación y poda los asigne en un orden más
+ * favorable. La búsqueda se hace sobre la instancia reordenada y, al terminar, la asignación se devuelve a las
+ * posiciones originales de los pedidos.
+ * En el orden por arrepentimiento, el arrepentimiento de un pedido es la diferencia entre el menor y el segundo menor
+ * coste de su tipo de pastel, por lo que solo depende del tipo. Los pedidos se ordenan de mayor a menor
+ * arrepentimiento y, a igualdad, por tipo de pastel, de forma que los del mismo tipo quedan agrupados y la reordenación
+ * es compatible con la ruptura de simetrías.
+ * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
+ * @author Asier Rodríguez López
+ * @version 1.0
+ * @since 2.0
+ * @see pasteleria.OrdenPedidos
+ */
+final class Reordenacion {
+
+    /**
+     * Instancia con los pedidos reordenados.
+     */
+    private final Instancia instancia;
+
+    /**
+     * Posición en la instancia original de cada pedido de la instancia reordenada.
+     */
+    private final int[] posicionOriginal;
+
+    /**
+     * Reordena los pedidos de la instancia en el orden indicado.
+     * Complejidad temporal O(n*log(n) + p*m), donde 'n' es el número de pedidos, 'p' el número de pasteleros y 'm' el
+     * número de tipos de pasteles.
+     * @param original instancia original.
+     * @param orden orden de los pedidos.
+     */
+    Reordenacion(Instancia original, OrdenPedidos orden){
+        int[] pedidos = original.pedidos();
+        int n = pedidos.length;
+
+        Integer[] posiciones = new Integer[n];
+        for(int i=0; i<n; i++) posiciones[i] = i;
+        if(orden == OrdenPedidos.ARREPENTIMIENTO){
+            float[] arrepentimiento = arrepentimientoPorTipo(original.tablaCostes());
+            Arrays.sort(posiciones, (a, b) -> {
+                int tipoA = pedidos[a]-1, tipoB = pedidos[b]-1;
+                int c = Float.compare(arrepentimiento[tipoB], arrepentimiento[tipoA]);
+                return c != 0 ? c : Integer.compare(tipoA, tipoB);
+            });
+        }
+
+        this.posicionOriginal = new int[n];
+        int[] reordenados     = new int[n];
+        for(int i=0; i<n; i++){
+            posicionOriginal[i] = posiciones[i];
+            reordenados[i]      = pedidos[posiciones[i]];
+        }
+        this.instancia = new Instancia(original.tablaCostes(), reordenados);
+    }
+
+    /**
+     * Arrepentimiento de cada tipo de pastel: diferencia entre su menor y su segundo menor coste entre todos los
+     * pasteleros. Con un único pastelero es cero.
+     * @param tabla_costes tabla de costes de elaboración de cada pastel por cada pastelero.
+     * @return arrepentimiento de cada tipo de pastel.
+     */
+    private static float[] arrepentimientoPorTipo(float[][] tabla_costes){
+        int tipos = tabla_costes[0].length;
+        float[] arrepentimiento = new float[tipos];
+        for(int j=0; j<tipos; j++){
+            float primero = Float.POSITIVE_INFINITY, segundo = Float.POSITIVE_INFINITY;
+            for(float[] costes: tabla_costes){
+                if(costes[j] < primero){
+                    segundo = primero;
+                    primero = costes[j];
+                }
+                else if(costes[j] < segundo) segundo = costes[j];
+            }
+            arrepentimiento[j] = tabla_costes.length > 1 ? segundo - primero : 0f;
+        }
+        return arrepentimiento;
+    }
+
+    /**
+     * Devuelve la instancia con los pedidos reordenados.
+     * @return instancia reordenada.
+     */
+    Instancia instancia(){
+        return instancia;
+    }
+
+    /**
+     * Devuelve la asignación a las posiciones originales de los pedidos.
+     * @param pasteleros pastelero asignado a cada pedido de la instancia reordenada.
+     * @return pastelero asignado a cada pedido de la instancia original.
+     */
+    int[] restaurar(int[] pasteleros){
+        int[] original = new int[pasteleros.length];
+        for(int i=0; i<pasteleros.length; i++) original[posicionOriginal[i]] = pasteleros[i];
+        return original;
+    }
+}
@@ -0,0 +1,155 @@
+package pasteleria;
+
+/**
+ * Solución de un ejemplar del problema de la pastelería: el pastelero asignado a cada pedido y el coste total de la
+ * asignación, junto con las estadísticas de la resolución si el motor las recoge. Es inmutable.
+ * Si la búsqueda se ha detenido por agotar su presupuesto, la solución puede no ser óptima: se acompaña de una cota
+ * inferior demostrada del coste óptimo y de la diferencia relativa (hueco) entre ambos.
+ * @see pasteleria.Presupuesto
+ * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
+ * @author Asier Rodríguez López
+ * @version 1.0
+ * @since 2.0
+ */
+public final class Resultado {
+
+    /**
+     * Pastelero asignado a cada pedido, empezando en cero.
+     */
+    private final int[] pasteleros;
+
+    /**
+     * Coste total de la asignación.
+     */
+    private final float coste;
+
+    /**
+     * Estadísticas de la resolución, null si no se han recogido.
+     */
+    private final Estadisticas estadisticas;
+
+    /**
+     * Cota inferior del coste óptimo. Es igual al coste si la solución es óptima.
+     */
+    private final float cotaInferior;
+
+    /**
+     * Crea el resultado copiando la asignación, sin estadísticas.
+     * @param pasteleros pastelero asignado a cada pedido, empezando en cero.
+     * @param coste coste total de la asignación.
+     */
+    public Resultado(int[] pasteleros, float coste){
+        this(pasteleros, coste, null);
+    }
+
+    /**
+     * Crea el resultado copiando la asignación.
+     * @param pasteleros pastelero asignado a cada pedido, empezando en cero.
+     * @param coste coste total de la asignación.
+     * @param estadisticas estadísticas de la resolución, null si no se han recogido.
+     */
+    public Resultado(int[] pasteleros, float coste, Estadisticas estadisticas){
+        this(pasteleros, coste, estadisticas, coste);
+    }
+
+    /**
+     * Crea el resultado copiando la asignación de una solución que puede no ser óptima.
+     * @param pasteleros pastelero asignado a cada pedido, empezando en cero.
+     * @param coste coste total de la asignación.
+     * @param estadisticas estadísticas de la resolución, null si no se han recogido.
+     * @param cotaInferior cota inferior del coste óptimo. Se limita al coste de la asignación.
+     */
+    public Resultado(int[] pasteleros, float coste, Estadisticas estadisticas, float cotaInferior){
+        this.pasteleros   = pasteleros.clone();
+        this.coste        = coste;
+        this.estadisticas = estadisticas;
+        this.cotaInferior = Math.min(cotaInferior, coste);
+    }
+
+    /**
+     * Crea el resultado a partir de una asignación y calcula su coste. El coste se acumula en el orden de los pedidos,
+     * igual que en la ramificación y poda.
+     * @param instancia instancia resuelta.
+     * @param pasteleros pastelero asignado a cada pedido, empezando en cero.
+     * @param estadisticas estadísticas de la resolución, null si no se han recogido.
+     * @return resultado de la asignación.
+     */
+    static Resultado desdeAsignacion(Instancia instancia, int[] pasteleros, Estadisticas estadisticas){
+        return desdeAsignacion(instancia, pasteleros, estadisticas, Float.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Crea el resultado a partir de una asignación que puede no ser óptima y calcula su coste.
+     * @param instancia instancia resuelta.
+     * @param pasteleros pastelero asignado a cada pedido, empezando en cero.
+     * @param estadisticas estadísticas de la resolución, null si no se han recogido.
+     * @param cotaInferior cota inferior del coste óptimo, infinito si la asignación es óptima.
+     * @return resultado de la asignación.
+     */
+    static Resultado desdeAsignacion(Instancia instancia, int[] pasteleros, Estadisticas estadisticas, float cotaInferior){
+        float coste = 0f;
+        for(int i=0; i<pasteleros.length; i++)
+            coste += instancia.tablaCostes()[pasteleros[i]][instancia.pedidos()[i]-1];
+        return new Resultado(pasteleros, coste, estadisticas, cotaInferior);
+    }
+
+    /**
+     * Devuelve una copia de la asignación.
+     * @return pastelero asignado a cada pedido, empezando en cero.
+     */
+    public int[] getPasteleros(){
+        return pasteleros.clone();
+    }
+
+    /**
+     * Devuelve el coste total de la asignación.
+     * @return coste total.
+     */
+    public float getCoste(){
+        return coste;
+    }
+
+    /**
+     * Devuelve las estadísticas de la resolución.
+     * @return estadísticas, null si el motor no las ha recogido.
+     */
+    public Estadisticas getEstadisticas(){
+        return estadisticas;
+    }
+
+    /**
+     * Devuelve la cota inferior del coste óptimo.
+     * @return cota inferior, igual al coste si la solución es óptima.
+     */
+    public float getCotaInferior(){
+        return cotaInferior;
+    }
+
+    /**
+     * Indica si se ha demostrado que la solución es óptima.
+     * @return true si la cota inferior alcanza el coste de la solución.
+     */
+    public boolean esOptima(){
+        return cotaInferior >= coste;
+    }
+
+    /**
+     * Devuelve el hueco de optimalidad: diferencia entre el coste y la cota inferior, relativa al coste.
+     * @return hueco entre 0 y 1, cero si la solución es óptima o el coste es cero.
+     */
+    public double getHueco(){
+        return coste == 0f ? 0d : ((double) coste - cotaInferior)/coste;
+    }
+
+    /**
+     * Devuelve el resultado con el formato de salida del programa: una línea con los pasteleros (empezando en 1)
+     * separados por guiones y otra con el coste total.
+     * @return literal con el formato de salida.
+     */
+    public String formatear(){
+        StringBuilder salida = new StringBuilder();
+        for(int i=0; i<pasteleros.length; i++)
+            salida.append(pasteleros[i]+1).append(i==pasteleros.length-1?"\n":"-");
+        return salida.append(coste).toString();
+    }
+}
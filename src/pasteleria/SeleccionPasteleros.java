@@ -0,0 +1,117 @@
+package pasteleria;
+
+import java.util.Arrays;
+
+/**
+ * Selección de los pasteleros que pueden intervenir en una solución óptima cuando hay más pasteleros que pedidos.
+ * Con 'n' pedidos, todo pedido de un tipo de pastel puede hacerlo alguno de los 'n' pasteleros más baratos para ese
+ * tipo: los otros n-1 pedidos ocupan como mucho n-1 de ellos, y cambiar un pedido a uno libre de ese grupo no aumenta el
+ * coste. Por tanto existe una solución óptima que solo utiliza pasteleros que estén entre los 'n' más baratos de algún
+ * tipo de pastel pedido, y el resto se puede descartar sin completar la matriz con pedidos ficticios.
+ * La búsqueda se hace sobre la instancia con los pasteleros seleccionados, en su orden original, y al terminar se
+ * devuelven los pasteleros asignados a su número original. Si quedan tantos pasteleros como pedidos la instancia pasa a
+ * ser cuadrada y la cota reducida puede reducir también las columnas.
+ * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
+ * @author Asier Rodríguez López
+ * @version 1.0
+ * @since 2.0
+ * @see pasteleria.Reordenacion
+ */
+final class SeleccionPasteleros {
+
+    /**
+     * Instancia con los pasteleros seleccionados.
+     */
+    private final Instancia instancia;
+
+    /**
+     * Número original de cada pastelero de la instancia seleccionada.
+     */
+    private final int[] pasteleroOriginal;
+
+    /**
+     * Número de pasteleros de la instancia original.
+     */
+    private final int numPasteleros;
+
+    /**
+     * Selecciona los pasteleros de la instancia que están entre los 'n' más baratos de algún tipo de pastel pedido.
+     * Complejidad temporal O(t*p*log(p)), donde 't' es el número de tipos de pasteles pedidos y 'p' el número de
+     * pasteleros.
+     * @param original instancia original.
+     */
+    SeleccionPasteleros(Instancia original){
+        float[][] tabla_costes = original.tablaCostes();
+        int[] pedidos = original.pedidos();
+        int n = pedidos.length, p = tabla_costes.length;
+
+        boolean[] seleccionado = new boolean[p];
+        int seleccionados = 0;
+        if(n >= p){
+            Arrays.fill(seleccionado, true);
+            seleccionados = p;
+        }
+        else{
+            boolean[] pedido = new boolean[original.getTiposDePasteles()];
+            for(int tipo: pedidos) pedido[tipo-1] = true;
+
+            Integer[] orden = new Integer[p];
+            for(int j=0; j<pedido.length && seleccionados < p; j++){
+                if(!pedido[j]) continue;
+                final int tipoPastel = j;
+                for(int k=0; k<p; k++) orden[k] = k;
+                Arrays.sort(orden, (x, y) -> Float.compare(tabla_costes[x][tipoPastel], tabla_costes[y][tipoPastel]));
+                for(int k=0; k<n; k++){
+                    if(seleccionado[orden[k]]) continue;
+                    seleccionado[orden[k]] = true;
+                    seleccionados++;
+                }
+            }
+        }
+
+        this.numPasteleros     = p;
+        this.pasteleroOriginal = new int[seleccionados];
+        float[][] tabla        = new float[seleccionados][];
+        for(int k=0, s=0; k<p; k++){
+            if(!seleccionado[k]) continue;
+            pasteleroOriginal[s] = k;
+            tabla[s++]           = tabla_costes[k];
+        }
+        this.instancia = seleccionados == p ? original : new Instancia(tabla, pedidos);
+    }
+
+    /**
+     * Indica si se ha descartado algún pastelero.
+     * @return true si la instancia seleccionada tiene menos pasteleros que la original.
+     */
+    boolean descartaPasteleros(){
+        return pasteleroOriginal.length < numPasteleros;
+    }
+
+    /**
+     * Devuelve la instancia con los pasteleros seleccionados.
+     * @return instancia seleccionada.
+     */
+    Instancia instancia(){
+        return instancia;
+    }
+
+    /**
+     * Devuelve el número original de cada pastelero seleccionado.
+     * @return números originales de los pasteleros, empezando en cero.
+     */
+    int[] pastelerosOriginales(){
+        return pasteleroOriginal.clone();
+    }
+
+    /**
+     * Devuelve la asignación con los números originales de los pasteleros.
+     * @param pasteleros pastelero de la instancia seleccionada asignado a cada pedido.
+     * @return pastelero de la instancia original asignado a cada pedido.
+     */
+    int[] restaurar(int[] pasteleros){
+        int[] original = new int[pasteleros.length];
+        for(int i=0; i<pasteleros.length; i++) original[i] = pasteleroOriginal[pasteleros[i]];
+        return original;
+    }
+}
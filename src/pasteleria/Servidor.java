@@ -0,0 +1,161 @@
+package pasteleria;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Modo servidor: una única máquina virtual, que se mantiene en marcha con el código ya compilado por el JIT, atiende
+ * peticiones de resolución. Cada petición es una instancia con el formato de los ficheros de entrada, delimitada como en
+ * el modo por lotes por las 3+p líneas que indica su número de pasteleros 'p', y su respuesta son los pasteleros
+ * asignados y el coste (o el mensaje de error) seguidos de una línea en blanco. Una conexión puede enviar varias
+ * peticiones seguidas sin esperar las respuestas, que se devuelven en el mismo orden.
+ * Las peticiones se atienden por un socket TCP que solo escucha en la interfaz local, con una conexión por cliente, o
+ * por la entrada y salida estándar.
+ * Todas las conexiones comparten un pool fijo de trabajadores. Para limitar la carga, cada conexión deja de leer
+ * peticiones mientras tenga PENDIENTES_POR_CONEXION sin responder, lo que frena al cliente a través del propio socket,
+ * y como mucho se atienden MAX_CONEXIONES conexiones a la vez; las siguientes esperan en la cola del socket. Si la
+ * resolución de una petición falla, incluso por un error de la máquina virtual, su respuesta es el mensaje de error y la
+ * conexión sigue atendiendo las siguientes.
+ * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
+ * @author Asier Rodríguez López
+ * @version 1.0
+ * @since 2.0
+ * @see pasteleria.Lote
+ */
+final class Servidor {
+
+    /**
+     * Número máximo de peticiones de una conexión leídas y sin responder.
+     */
+    static final int PENDIENTES_POR_CONEXION = 16;
+
+    /**
+     * Número máximo de conexiones atendidas a la vez.
+     */
+    static final int MAX_CONEXIONES = 64;
+
+    /**
+     * Tiempo máximo en milisegundos de cada petición resuelta con la ramificación y poda secuencial si no se ha limitado
+     * el presupuesto, para que una instancia difícil no ocupe un trabajador indefinidamente.
+     */
+    static final long TIEMPO_MAXIMO_POR_DEFECTO = 10_000;
+
+    /**
+     * Lote con el que se valida y resuelve cada petición.
+     */
+    private final Lote lote;
+
+    /**
+     * Número de trabajadores del pool compartido por todas las conexiones.
+     */
+    private final int trabajadores;
+
+    /**
+     * Crea el servidor.
+     * @param lote lote con el que se valida y resuelve cada petición.
+     * @param trabajadores número de trabajadores del pool.
+     * @throws IllegalArgumentException si el número de trabajadores es menor a 1.
+     */
+    Servidor(Lote lote, int trabajadores){
+        if(trabajadores < 1) throw new IllegalArgumentException("ERROR: el número de trabajadores no puede ser menor a 1.");
+        this.lote         = lote;
+        this.trabajadores = trabajadores;
+    }
+
+    /**
+     * Atiende las peticiones de la entrada estándar hasta que se cierra y escribe las respuestas en la salida estándar.
+     * @param entrada entrada de las peticiones.
+     * @param salida destino de las respuestas.
+     * @throws IOException si no es posible leer la entrada.
+     * @throws InterruptedException si se interrumpe la espera de una respuesta.
+     */
+    void atender(InputStream entrada, PrintStream salida) throws IOException, InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(trabajadores);
+        try {
+            atender(new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8)), salida, pool);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Escucha en el puerto TCP indicado de la interfaz local y atiende cada conexión en su propio hilo hasta que se
+     * detiene el programa.
+     * @param puerto puerto en el que se escucha, 0 para uno libre.
+     * @throws IOException si no es posible abrir el puerto o aceptar una conexión.
+     * @throws InterruptedException si se interrumpe la espera de una conexión libre.
+     */
+    void escuchar(int puerto) throws IOException, InterruptedException {
+        ExecutorService pool       = Executors.newFixedThreadPool(trabajadores);
+        ExecutorService conexiones = Executors.newCachedThreadPool();
+        Semaphore libres           = new Semaphore(MAX_CONEXIONES);
+        try(ServerSocket servidor = new ServerSocket(puerto, MAX_CONEXIONES, InetAddress.getLoopbackAddress())){
+            System.out.println("SYSTEM: servidor escuchando en "+servidor.getInetAddress().getHostAddress()+":"
+                    +servidor.getLocalPort()+" con "+trabajadores+" trabajadores.");
+            while(true){
+                //Con el máximo de conexiones no se aceptan más hasta que se cierre alguna
+                libres.acquire();
+                Socket conexion = servidor.accept();
+                conexiones.execute(() -> {
+                    try(conexion){
+                        atender(new BufferedReader(new InputStreamReader(conexion.getInputStream(), StandardCharsets.UTF_8)),
+                                new PrintStream(conexion.getOutputStream(), false, StandardCharsets.UTF_8), pool);
+                    } catch (IOException | InterruptedException e) {
+                        //El cliente ha cerrado la conexión o se está deteniendo el servidor
+                    } finally {
+                        libres.release();
+                    }
+                });
+            }
+        } finally {
+            conexiones.shutdownNow();
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Atiende las peticiones de una conexión hasta que el cliente cierra su envío. Cada petición se resuelve en el
+     * pool y su respuesta se escribe en cuanto están escritas las de las peticiones anteriores, sin esperar a leer las
+     * siguientes.
+     * @param lector lector de las peticiones.
+     * @param salida destino de las respuestas.
+     * @param pool pool de trabajadores compartido.
+     * @throws IOException si no es posible leer las peticiones.
+     * @throws InterruptedException si se interrumpe la espera de una respuesta.
+     */
+    private void atender(BufferedReader lector, PrintStream salida, ExecutorService pool)
+            throws IOException, InterruptedException {
+        Semaphore pendientes = new Semaphore(PENDIENTES_POR_CONEXION);
+        CompletableFuture<Void> escrito = CompletableFuture.completedFuture(null);
+        String datos;
+        while((datos = Lote.siguienteInstancia(lector)) != null){
+            pendientes.acquire();
+            String peticion = datos;
+            //Un fallo de la tarea se convierte en la respuesta de error de su petición para no cortar la cadena
+            CompletableFuture<String> respuesta = CompletableFuture.supplyAsync(() -> lote.responder(peticion), pool)
+                    .exceptionally(e -> "ERROR: error inesperado => "+(e.getCause() == null ? e : e.getCause())+"\n");
+            //Las respuestas se encadenan para escribirse en el orden de las peticiones
+            escrito = escrito.thenAcceptBoth(respuesta, (anterior, texto) -> {
+                try {
+                    salida.print(texto+"\n");
+                    salida.flush();
+                } finally {
+                    pendientes.release();
+                }
+            });
+        }
+        //Se vacían las respuestas pendientes antes de cerrar la conexión
+        pendientes.acquire(PENDIENTES_POR_CONEXION);
+    }
+}
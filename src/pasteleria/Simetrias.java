@@ -0,0 +1,107 @@
+package pasteleria;
+
+import java.util.Arrays;
+
+/**
+ * Ruptura de simetrías entre pedidos del mismo tipo de pastel. Intercambiar los pasteleros de dos pedidos del mismo tipo
+ * no cambia el coste, por lo que basta con explorar una de las permutaciones: aquella en la que los pasteleros de los
+ * pedidos de un mismo tipo aparecen en orden creciente.
+ * Para que la restricción solo dependa del pedido anterior, los pedidos se reordenan de forma estable agrupando los del
+ * mismo tipo, con los grupos en el orden en que aparece su tipo por primera vez, y la búsqueda se hace sobre la
+ * instancia reordenada. Así se respeta un orden previo de los pedidos que ya los agrupe. Al terminar, la asignación se devuelve a las
+ * posiciones originales de los pedidos.
+ * En los nodos que están en mitad de un grupo la restricción depende del último pastelero asignado, por lo que dos nodos
+ * con los mismos pasteleros asignados ya no son equivalentes: la tabla de dominancia tiene en cuenta esa restricción.
+ * Además, un nodo con restricción puede no tener ninguna solución (no quedan pasteleros libres mayores que el último),
+ * por lo que su estimación pesimista no se debe utilizar como cota.
+ * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
+ * @author Asier Rodríguez López
+ * @version 1.0
+ * @since 2.0
+ * @see pasteleria.TablaDominancia
+ */
+final class Simetrias {
+
+    /**
+     * Instancia con los pedidos agrupados por tipo de pastel.
+     */
+    private final Instancia instancia;
+
+    /**
+     * Posición en la instancia original de cada pedido de la instancia reordenada.
+     */
+    private final int[] posicionOriginal;
+
+    /**
+     * Indica si cada pedido de la instancia reordenada es del mismo tipo que el anterior.
+     */
+    private final boolean[] continuaGrupo;
+
+    /**
+     * Reordena los pedidos de la instancia. Complejidad temporal O(n*log(n)).
+     * @param original instancia original.
+     */
+    Simetrias(Instancia original){
+        int[] pedidos = original.pedidos();
+        int n = pedidos.length;
+
+        //Primera aparición de cada tipo de pastel
+        int[] primera = new int[original.getTiposDePasteles()];
+        Arrays.fill(primera, -1);
+        for(int i=0; i<n; i++) if(primera[pedidos[i]-1] < 0) primera[pedidos[i]-1] = i;
+
+        //Ordenación estable de las posiciones por la primera aparición de su tipo de pastel
+        Integer[] orden = new Integer[n];
+        for(int i=0; i<n; i++) orden[i] = i;
+        Arrays.sort(orden, (a, b) -> Integer.compare(primera[pedidos[a]-1], primera[pedidos[b]-1]));
+
+        this.posicionOriginal = new int[n];
+        this.continuaGrupo    = new boolean[n];
+        int[] reordenados     = new int[n];
+        for(int i=0; i<n; i++){
+            posicionOriginal[i] = orden[i];
+            reordenados[i]      = pedidos[orden[i]];
+            continuaGrupo[i]    = i > 0 && reordenados[i] == reordenados[i-1];
+        }
+        this.instancia = new Instancia(original.tablaCostes(), reordenados);
+    }
+
+    /**
+     * Devuelve la instancia con los pedidos agrupados por tipo de pastel.
+     * @return instancia reordenada.
+     */
+    Instancia instancia(){
+        return instancia;
+    }
+
+    /**
+     * Indica si el pedido es del mismo tipo que el anterior, en cuyo caso su pastelero tiene que ser mayor que el del
+     * pedido anterior.
+     * @param pedido pedido de la instancia reordenada.
+     * @return true si el pedido continúa el grupo del anterior.
+     */
+    boolean continuaGrupo(int pedido){
+        return pedido < continuaGrupo.length && continuaGrupo[pedido];
+    }
+
+    /**
+     * Restricción del nodo: si el siguiente pedido continúa el grupo del último asignado, solo se le pueden asignar
+     * pasteleros mayores que el último pastelero del nodo.
+     * @param nodo nodo a consultar.
+     * @return último pastelero del nodo si el siguiente pedido continúa su grupo, -1 en caso contrario.
+     */
+    int restriccion(Nodo nodo){
+        return continuaGrupo(nodo.numNodo+1) ? nodo.ultimoPastelero : -1;
+    }
+
+    /**
+     * Devuelve la asignación a las posiciones originales de los pedidos.
+     * @param pasteleros pastelero asignado a cada pedido de la instancia reordenada.
+     * @return pastelero asignado a cada pedido de la instancia original.
+     */
+    int[] restaurar(int[] pasteleros){
+        int[] original = new int[pasteleros.length];
+        for(int i=0; i<pasteleros.length; i++) original[posicionOriginal[i]] = pasteleros[i];
+        return original;
+    }
+}
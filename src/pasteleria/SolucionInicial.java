@@ -0,0 +1,143 @@
+package pasteleria;
+
+import java.util.Arrays;
+
+/**
+ * Solución inicial para el algoritmo de ramificación y poda. Se construye una asignación voraz por arrepentimiento y se
+ * mejora con búsqueda local por intercambios. Su coste se utiliza como cota desde el principio, mucho más ajustada que la
+ * estimación pesimista del nodo raíz, de forma que la mayor parte de los nodos se podan antes de llegar al montículo.
+ * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
+ * @author Asier Rodríguez López
+ * @version 1.0
+ * @since 2.0
+ */
+final class SolucionInicial {
+
+    /**
+     * Constructor privado, la clase solo ofrece métodos estáticos.
+     */
+    private SolucionInicial(){
+    }
+
+    /**
+     * Construye una asignación completa de los pedidos con los primeros numPasteleros pasteleros.
+     * Complejidad temporal O(n²*p) de la fase voraz más O(n*(n+p)) por cada pasada de la búsqueda local, donde 'n' es el
+     * número de pedidos y 'p' el número de pasteleros.
+     * @param tabla_costes tabla de costes de elaboración de cada pastel por cada pastelero.
+     * @param pedidos lista de pedidos.
+     * @param numPasteleros número de pasteleros entre los que se reparten los pedidos.
+     * @return pastelero asignado a cada pedido.
+     */
+    static int[] construir(float[][] tabla_costes, int[] pedidos, int numPasteleros){
+        int[] pasteleros = voraz(tabla_costes, pedidos, numPasteleros);
+        busquedaLocal(tabla_costes, pedidos, numPasteleros, pasteleros);
+        return pasteleros;
+    }
+
+    /**
+     * Coste de una asignación acumulado en el orden de los pedidos, igual que en la ramificación y poda, para que las
+     * comparaciones con la cota sean exactas.
+     * @param tabla_costes tabla de costes de elaboración de cada pastel por cada pastelero.
+     * @param pedidos lista de pedidos.
+     * @param pasteleros pastelero asignado a cada pedido.
+     * @return coste total de la asignación.
+     */
+    static float coste(float[][] tabla_costes, int[] pedidos, int[] pasteleros){
+        float coste = 0f;
+        for(int i=0; i<pedidos.length; i++) coste += tabla_costes[pasteleros[i]][pedidos[i]-1];
+        return coste;
+    }
+
+    /**
+     * Asignación voraz por arrepentimiento: en cada paso se asigna el pedido con mayor diferencia entre su mejor y su
+     * segundo mejor pastelero libre, que es el que más perdería si se le quitara su mejor opción.
+     * @param tabla_costes tabla de costes de elaboración de cada pastel por cada pastelero.
+     * @param pedidos lista de pedidos.
+     * @param numPasteleros número de pasteleros entre los que se reparten los pedidos.
+     * @return pastelero asignado a cada pedido.
+     */
+    private static int[] voraz(float[][] tabla_costes, int[] pedidos, int numPasteleros){
+        int n = pedidos.length;
+        int[] pasteleros   = new int[n];
+        Arrays.fill(pasteleros, -1);
+        boolean[] ocupados = new boolean[numPasteleros];
+
+        for(int paso=0; paso<n; paso++){
+            int elegido = -1, mejorElegido = -1;
+            float mayorArrepentimiento = -1f;
+
+            for(int i=0; i<n; i++){
+                if(pasteleros[i] >= 0) continue;
+                int tipo = pedidos[i]-1;
+                int mejor = -1;
+                float primero = Float.POSITIVE_INFINITY, segundo = Float.POSITIVE_INFINITY;
+                for(int k=0; k<numPasteleros; k++){
+                    if(ocupados[k]) continue;
+                    float c = tabla_costes[k][tipo];
+                    if(c < primero){
+                        segundo = primero;
+                        primero = c;
+                        mejor   = k;
+                    }
+                    else if(c < segundo) segundo = c;
+                }
+                //Con un solo pastelero libre no hay alternativa: el arrepentimiento es infinito
+                float arrepentimiento = segundo - primero;
+                if(arrepentimiento > mayorArrepentimiento){
+                    mayorArrepentimiento = arrepentimiento;
+                    elegido              = i;
+                    mejorElegido         = mejor;
+                }
+            }
+
+            pasteleros[elegido]    = mejorElegido;
+            ocupados[mejorElegido] = true;
+        }
+        return pasteleros;
+    }
+
+    /**
+     * Búsqueda local de primera mejora: se intercambian los pasteleros de dos pedidos, o se cambia el pastelero de un
+     * pedido por uno libre, mientras alguno de esos movimientos reduzca el coste.
+     * @param tabla_costes tabla de costes de elaboración de cada pastel por cada pastelero.
+     * @param pedidos lista de pedidos.
+     * @param numPasteleros número de pasteleros entre los que se reparten los pedidos.
+     * @param pasteleros asignación a mejorar. Se modifica.
+     */
+    private static void busquedaLocal(float[][] tabla_costes, int[] pedidos, int numPasteleros, int[] pasteleros){
+        int n = pedidos.length;
+        boolean[] ocupados = new boolean[numPasteleros];
+        for(int k: pasteleros) ocupados[k] = true;
+
+        boolean mejora = true;
+        while(mejora){
+            mejora = false;
+            for(int i=0; i<n; i++){
+                int tipoI = pedidos[i]-1;
+
+                //Intercambio con otro pedido
+                for(int i2=i+1; i2<n; i2++){
+                    int tipoI2 = pedidos[i2]-1;
+                    if(tipoI == tipoI2) continue;
+                    int a = pasteleros[i], b = pasteleros[i2];
+                    double delta = (double) tabla_costes[a][tipoI2] + tabla_costes[b][tipoI]
+                                 - tabla_costes[a][tipoI] - tabla_costes[b][tipoI2];
+                    if(delta < 0){
+                        pasteleros[i]  = b;
+                        pasteleros[i2] = a;
+                        mejora = true;
+                    }
+                }
+
+                //Cambio por un pastelero libre
+                for(int k=0; k<numPasteleros; k++){
+                    if(ocupados[k] || tabla_costes[k][tipoI] >= tabla_costes[pasteleros[i]][tipoI]) continue;
+                    ocupados[pasteleros[i]] = false;
+                    ocupados[k]             = true;
+                    pasteleros[i]           = k;
+                    mejora = true;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package pasteleria;
+
+/**
+ * Algoritmo capaz de resolver un ejemplar del problema de la pastelería. Las implementaciones no guardan estado
+ * estático ni estado entre resoluciones, por lo que un mismo solucionador puede usarse desde varios hilos a la vez.
+ * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
+ * @author Asier Rodríguez López
+ * @version 1.0
+ * @since 2.0
+ */
+public interface Solucionador {
+
+    /**
+     * Resuelve la instancia.
+     * @param instancia ejemplar del problema a resolver.
+     * @return asignación de pasteleros a pedidos y su coste total.
+     */
+    Resultado resolver(Instancia instancia);
+}
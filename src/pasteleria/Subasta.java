@@ -0,0 +1,495 @@
+package pasteleria;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Resolución del problema de la pastelería mediante el algoritmo de subasta de Bertsekas. Los pedidos pujan por los
+ * pasteleros: cada pedido sin asignar elige el pastelero de mayor beneficio (menos coste menos precio) y sube su precio
+ * en la diferencia con el segundo mejor más 'ε', desplazando al pedido que lo tuviera. Al terminar, la asignación
+ * cumple la ε-holgura complementaria y su coste difiere del óptimo en menos de 'p*ε'.
+ * Antes se descartan los pasteleros que no pueden intervenir en la solución óptima y, si aún quedan más pasteleros
+ * que pedidos, se completan con pedidos ficticios de coste cero para que la subasta sea simétrica. Los costes se
+ * escalan a enteros según sus decimales (como mucho MAX_DECIMALES) y la última fase usa ε = 1/(p+1), por lo que la
+ * solución es óptima; con más decimales es óptima para los costes redondeados. Las fases anteriores reducen 'ε' en un
+ * factor FACTOR_EPSILON conservando los precios, lo que evita las guerras de precios entre pedidos del mismo tipo.
+ * Con un hilo se puja pedido a pedido (Gauss-Seidel). Con varios, en cada ronda todos los pedidos sin asignar calculan
+ * su puja a la vez en un ForkJoinPool con los mismos precios y cada pastelero se adjudica a la mayor puja (Jacobi).
+ * Los pedidos del mismo tipo de pastel son idénticos, por lo que en cada ronda los 'c' pendientes de un tipo pujan
+ * juntos por sus 'c' mejores pasteleros en lugar de competir todos por el mismo.
+ * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
+ * @author Asier Rodríguez López
+ * @version 1.0
+ * @since 2.0
+ * @see pasteleria.SeleccionPasteleros
+ */
+public class Subasta implements Solucionador {
+
+    /**
+     * Número máximo de decimales de los costes con el que la solución es exacta.
+     */
+    public static final int MAX_DECIMALES = 4;
+
+    /**
+     * Factor en que se reduce 'ε' entre dos fases de la subasta.
+     */
+    private static final double FACTOR_EPSILON = 5;
+
+    /**
+     * Número de costes consultados por debajo del cual una tarea de pujas no se divide.
+     */
+    private static final long COSTES_POR_TAREA = 1 << 15;
+
+    /**
+     * Número de hilos con los que se calculan las pujas.
+     */
+    private final int hilos;
+
+    /**
+     * Crea el solucionador secuencial.
+     */
+    public Subasta(){
+        this(1);
+    }
+
+    /**
+     * Crea el solucionador.
+     * @param hilos número de hilos con los que se calculan las pujas de cada ronda, 1 para la versión secuencial.
+     * @throws IllegalArgumentException si el número de hilos es menor a 1.
+     */
+    public Subasta(int hilos){
+        if(hilos < 1) throw new IllegalArgumentException("ERROR: el número de hilos no puede ser menor a 1.");
+        this.hilos = hilos;
+    }
+
+    /**
+     * Resuelve la instancia.
+     * @param instancia ejemplar del problema a resolver.
+     * @return asignación de pasteleros a pedidos y su coste total.
+     * @throws IllegalArgumentException si hay más pedidos que pasteleros.
+     */
+    @Override
+    public Resultado resolver(Instancia instancia){
+        int n = instancia.getNumPedidos(), p = instancia.getNumPasteleros();
+        if(n > p) throw new IllegalArgumentException("ERROR: el número de pedidos ("+n+") es superior al número de pasteleros ("+p+")");
+
+        Estadisticas estadisticas = new Estadisticas();
+        long inicio = System.nanoTime();
+        SeleccionPasteleros seleccion = new SeleccionPasteleros(instancia);
+        Instancia seleccionada = seleccion.instancia();
+
+        Mercado mercado = new Mercado(seleccionada.tablaCostes(), seleccionada.pedidos());
+        if(hilos == 1) mercado.subastar(null);
+        else{
+            ForkJoinPool pool = new ForkJoinPool(hilos);
+            try {
+                mercado.subastar(pool);
+            } finally {
+                pool.shutdown();
+            }
+        }
+        int[] pasteleros = Arrays.copyOf(mercado.pasteleroDe, n);
+        estadisticas.tiempoTotal = System.nanoTime()-inicio;
+        return Resultado.desdeAsignacion(instancia, seleccion.restaurar(pasteleros), estadisticas);
+    }
+
+    /**
+     * Calcula el factor por el que se multiplican los costes para que sean enteros: la menor potencia de diez, hasta
+     * 10^MAX_DECIMALES, con la que todos los costes de los tipos pedidos lo son salvo el error de representación.
+     * @param tabla_costes tabla de costes de elaboración de cada pastel por cada pastelero.
+     * @param pedidos lista de pedidos.
+     * @return factor de escala de los costes.
+     */
+    private static double escala(float[][] tabla_costes, int[] pedidos){
+        boolean[] pedido = new boolean[tabla_costes[0].length];
+        for(int tipo: pedidos) pedido[tipo-1] = true;
+
+        double escala = 1;
+        for(int d=0; d<MAX_DECIMALES; d++, escala*=10){
+            boolean enteros = true;
+            for(int k=0; k<tabla_costes.length && enteros; k++)
+                for(int j=0; j<pedido.length && enteros; j++){
+                    if(!pedido[j]) continue;
+                    double coste = tabla_costes[k][j]*escala;
+                    enteros = Math.abs(coste-Math.rint(coste)) <= 1e-5*Math.max(1, Math.abs(coste));
+                }
+            if(enteros) return escala;
+        }
+        return escala;
+    }
+
+    /**
+     * Estado de una subasta: precios de los pasteleros y asignación en curso. Se crea uno por resolución, por lo que
+     * el solucionador no guarda estado entre resoluciones.
+     */
+    private static final class Mercado {
+
+        /**
+         * Número de pasteleros, igual al de pedidos contando los ficticios.
+         */
+        private final int p;
+
+        /**
+         * Coste escalado de cada pastelero para cada tipo de pastel, por filas de tipos para recorrerlo de forma
+         * contigua. La última fila, de ceros, es la de los pedidos ficticios.
+         */
+        private final double[] costes;
+
+        /**
+         * Fila de costes de cada pedido, incluidos los ficticios.
+         */
+        private final int[] filaDe;
+
+        /**
+         * Número de filas de costes: los tipos de pasteles más la de los pedidos ficticios.
+         */
+        private final int numFilas;
+
+        /**
+         * Precio actual de cada pastelero.
+         */
+        private final double[] precios;
+
+        /**
+         * Pastelero asignado a cada pedido, -1 si no tiene.
+         */
+        private final int[] pasteleroDe;
+
+        /**
+         * Pedido asignado a cada pastelero, -1 si no tiene.
+         */
+        private final int[] pedidoDe;
+
+        /**
+         * Pastelero por el que puja cada pedido en la ronda actual.
+         */
+        private final int[] objetivo;
+
+        /**
+         * Precio que ofrece cada pedido por su pastelero objetivo en la ronda actual.
+         */
+        private final double[] oferta;
+
+        /**
+         * Valor de 'ε' de la última fase, con el que la asignación es óptima para los costes escalados.
+         */
+        private final double epsilonFinal;
+
+        /**
+         * Mayor coste escalado, del que parte 'ε' en la primera fase.
+         */
+        private double costeMaximo;
+
+        /**
+         * Prepara la subasta de la instancia.
+         * Complejidad temporal O(m*p), donde 'm' es el número de tipos de pasteles y 'p' el número de pasteleros.
+         * @param tabla_costes tabla de costes de elaboración de cada pastel por cada pastelero.
+         * @param pedidos lista de pedidos.
+         */
+        Mercado(float[][] tabla_costes, int[] pedidos){
+            int n = pedidos.length, tipos = tabla_costes[0].length;
+            this.p = tabla_costes.length;
+
+            double escala = escala(tabla_costes, pedidos);
+            this.costes   = new double[(tipos+1)*p];
+            for(int j=0; j<tipos; j++)
+                for(int k=0; k<p; k++){
+                    costes[j*p+k] = Math.rint(tabla_costes[k][j]*escala);
+                    costeMaximo   = Math.max(costeMaximo, Math.abs(costes[j*p+k]));
+                }
+
+            this.numFilas = tipos+1;
+            this.filaDe   = new int[p];
+            for(int i=0; i<p; i++) filaDe[i] = (i < n ? pedidos[i]-1 : tipos)*p;
+
+            this.precios      = new double[p];
+            this.pasteleroDe  = new int[p];
+            this.pedidoDe     = new int[p];
+            this.objetivo     = new int[p];
+            this.oferta       = new double[p];
+            this.epsilonFinal = 1d/(p+1);
+        }
+
+        /**
+         * Realiza la subasta con escalado de 'ε' hasta que todos los pedidos tienen pastelero con ε = epsilonFinal.
+         * @param pool pool con el que se calculan las pujas de cada ronda, null para pujar pedido a pedido.
+         */
+        void subastar(ForkJoinPool pool){
+            double epsilon = Math.max(costeMaximo/FACTOR_EPSILON, epsilonFinal);
+            while(true){
+                if(pool == null) faseSecuencial(epsilon);
+                else faseParalela(epsilon, pool);
+                if(epsilon == epsilonFinal) return;
+                epsilon = Math.max(epsilon/FACTOR_EPSILON, epsilonFinal);
+            }
+        }
+
+        /**
+         * Calcula la puja de un pedido con los precios actuales y la guarda en objetivo y oferta.
+         * Complejidad temporal O(p).
+         * @param i pedido que puja.
+         * @param epsilon incremento mínimo de la puja.
+         */
+        void pujar(int i, double epsilon){
+            int fila = filaDe[i], mejor = 0;
+            double primero = Double.NEGATIVE_INFINITY, segundo = Double.NEGATIVE_INFINITY;
+            for(int k=0; k<p; k++){
+                double beneficio = -costes[fila+k] - precios[k];
+                if(beneficio > primero){
+                    segundo = primero;
+                    primero = beneficio;
+                    mejor   = k;
+                }
+                else if(beneficio > segundo) segundo = beneficio;
+            }
+            //Con un único pastelero no hay segundo y basta con subir 'ε'
+            if(segundo == Double.NEGATIVE_INFINITY) segundo = primero;
+            objetivo[i] = mejor;
+            oferta[i]   = precios[mejor] + primero - segundo + epsilon;
+        }
+
+        /**
+         * Calcula a la vez las pujas de un grupo de pedidos pendientes del mismo tipo con los precios actuales y las
+         * guarda en objetivo y oferta. Cada uno de los 'c' pedidos puja por uno distinto de los 'c' pasteleros de mayor
+         * beneficio, subiendo su precio hasta dejarlo con el beneficio del siguiente menos 'ε', de forma que todos
+         * cumplen la ε-holgura complementaria y no compiten entre sí.
+         * Complejidad temporal O(p*log(c)).
+         * @param agrupados pedidos pendientes agrupados por tipo.
+         * @param inicio primera posición del grupo.
+         * @param fin posición siguiente a la última del grupo.
+         * @param epsilon incremento mínimo de las pujas.
+         */
+        void pujarGrupo(int[] agrupados, int inicio, int fin, double epsilon){
+            int c = fin-inicio;
+            if(c == 1){
+                pujar(agrupados[inicio], epsilon);
+                return;
+            }
+
+            //Montículo de mínimos con los c+1 pasteleros de mayor beneficio (todos si no hay tantos)
+            int fila = filaDe[agrupados[inicio]], tam = Math.min(c+1, p), lleno = 0;
+            double[] beneficios = new double[tam];
+            int[] pasteleros    = new int[tam];
+            for(int k=0; k<p; k++){
+                double beneficio = -costes[fila+k] - precios[k];
+                if(lleno < tam){
+                    int hueco = lleno++;
+                    while(hueco > 0 && beneficios[(hueco-1)/2] > beneficio){
+                        beneficios[hueco] = beneficios[(hueco-1)/2];
+                        pasteleros[hueco] = pasteleros[(hueco-1)/2];
+                        hueco = (hueco-1)/2;
+                    }
+                    beneficios[hueco] = beneficio;
+                    pasteleros[hueco] = k;
+                }
+                else if(beneficio > beneficios[0]) hundir(beneficios, pasteleros, beneficio, k, tam);
+            }
+            //Se extrae el mínimo al final del vector hasta dejarlo ordenado de mayor a menor beneficio
+            for(int t=tam-1; t>0; t--){
+                double beneficio = beneficios[t];
+                int k = pasteleros[t];
+                beneficios[t] = beneficios[0];
+                pasteleros[t] = pasteleros[0];
+                hundir(beneficios, pasteleros, beneficio, k, t);
+            }
+
+            //Beneficio del primer pastelero por el que no se puja, o del último si se puja por todos
+            double limite = beneficios[tam-1];
+            for(int r=0; r<c; r++){
+                int i = agrupados[inicio+r], k = pasteleros[r];
+                objetivo[i] = k;
+                oferta[i]   = precios[k] + beneficios[r] - limite + epsilon;
+            }
+        }
+
+        /**
+         * Coloca un pastelero en la raíz de un montículo de mínimos de beneficios y lo hunde hasta su posición.
+         * Complejidad temporal O(log(tam)).
+         * @param beneficios beneficio de cada posición del montículo. Se modifica.
+         * @param pasteleros pastelero de cada posición del montículo. Se modifica.
+         * @param beneficio beneficio del pastelero a colocar.
+         * @param k pastelero a colocar.
+         * @param tam número de posiciones del montículo.
+         */
+        private static void hundir(double[] beneficios, int[] pasteleros, double beneficio, int k, int tam){
+            int hueco = 0;
+            while(2*hueco+1 < tam){
+                int hijo = 2*hueco+1;
+                if(hijo+1 < tam && beneficios[hijo+1] < beneficios[hijo]) hijo++;
+                if(beneficios[hijo] >= beneficio) break;
+                beneficios[hueco] = beneficios[hijo];
+                pasteleros[hueco] = pasteleros[hijo];
+                hueco = hijo;
+            }
+            beneficios[hueco] = beneficio;
+            pasteleros[hueco] = k;
+        }
+
+        /**
+         * Deja a todos los pedidos y pasteleros sin asignar, conservando los precios de la fase anterior.
+         */
+        private void vaciar(){
+            Arrays.fill(pasteleroDe, -1);
+            Arrays.fill(pedidoDe, -1);
+        }
+
+        /**
+         * Fase de la subasta en la que los pedidos sin asignar pujan de uno en uno (Gauss-Seidel), de forma que cada
+         * puja ya ve los precios de las anteriores.
+         * @param epsilon incremento mínimo de las pujas.
+         */
+        private void faseSecuencial(double epsilon){
+            vaciar();
+            int[] pendientes = new int[p];
+            int cima = 0;
+            for(int i=p-1; i>=0; i--) pendientes[cima++] = i;
+
+            while(cima > 0){
+                int i = pendientes[--cima];
+                pujar(i, epsilon);
+                int k = objetivo[i], anterior = pedidoDe[k];
+                precios[k]     = oferta[i];
+                pedidoDe[k]    = i;
+                pasteleroDe[i] = k;
+                if(anterior >= 0){
+                    pasteleroDe[anterior] = -1;
+                    pendientes[cima++]    = anterior;
+                }
+            }
+        }
+
+        /**
+         * Fase de la subasta por rondas (Jacobi): en cada ronda los pedidos sin asignar se agrupan por tipo, cada grupo
+         * calcula sus pujas en paralelo con los mismos precios y después cada pastelero con pujas se adjudica a la mayor,
+         * desplazando al pedido que lo tuviera. Los pedidos que pierden su puja o son desplazados pujan en la ronda
+         * siguiente.
+         * @param epsilon incremento mínimo de las pujas.
+         * @param pool pool con el que se calculan las pujas.
+         */
+        private void faseParalela(double epsilon, ForkJoinPool pool){
+            vaciar();
+            int[] pendientes = new int[p], siguientes = new int[p], pujados = new int[p], mejorPostor = new int[p];
+            int[] agrupados = new int[p], inicioGrupo = new int[numFilas+1], numGrupo = new int[numFilas];
+            Arrays.fill(mejorPostor, -1);
+            int numPendientes = p;
+            for(int i=0; i<p; i++) pendientes[i] = i;
+
+            while(numPendientes > 0){
+                //Agrupación de los pendientes por tipo (ordenación por recuento), guardando el inicio de cada grupo
+                Arrays.fill(numGrupo, 0);
+                for(int t=0; t<numPendientes; t++) numGrupo[filaDe[pendientes[t]]/p]++;
+                int numGrupos = 0, posicion = 0;
+                for(int f=0; f<numFilas; f++){
+                    if(numGrupo[f] == 0) continue;
+                    inicioGrupo[numGrupos++] = posicion;
+                    int inicio = posicion;
+                    posicion   += numGrupo[f];
+                    numGrupo[f] = inicio;
+                }
+                inicioGrupo[numGrupos] = posicion;
+                for(int t=0; t<numPendientes; t++) agrupados[numGrupo[filaDe[pendientes[t]]/p]++] = pendientes[t];
+
+                pool.invoke(new Pujas(this, agrupados, inicioGrupo, 0, numGrupos, epsilon));
+
+                //Mayor puja por cada pastelero, a igualdad la del primer pedido pendiente
+                int numPujados = 0;
+                for(int t=0; t<numPendientes; t++){
+                    int i = pendientes[t], k = objetivo[i];
+                    if(mejorPostor[k] < 0) pujados[numPujados++] = k;
+                    if(mejorPostor[k] < 0 || oferta[i] > oferta[mejorPostor[k]]) mejorPostor[k] = i;
+                }
+
+                int numSiguientes = 0;
+                for(int t=0; t<numPendientes; t++){
+                    int i = pendientes[t];
+                    if(mejorPostor[objetivo[i]] != i) siguientes[numSiguientes++] = i;
+                }
+                for(int t=0; t<numPujados; t++){
+                    int k = pujados[t], i = mejorPostor[k], anterior = pedidoDe[k];
+                    if(anterior >= 0){
+                        pasteleroDe[anterior]       = -1;
+                        siguientes[numSiguientes++] = anterior;
+                    }
+                    precios[k]     = oferta[i];
+                    pedidoDe[k]    = i;
+                    pasteleroDe[i] = k;
+                    mejorPostor[k] = -1;
+                }
+
+                int[] aux = pendientes;
+                pendientes    = siguientes;
+                siguientes    = aux;
+                numPendientes = numSiguientes;
+            }
+        }
+    }
+
+    /**
+     * Tarea que calcula las pujas de un rango de grupos de pedidos pendientes, dividiéndolo en dos mientras sea grande.
+     * Cada pedido escribe solo su posición de objetivo y oferta, y los precios no cambian durante la ronda.
+     */
+    private static final class Pujas extends RecursiveAction {
+
+        /**
+         * Versión de serialización, requerida por RecursiveAction aunque las tareas no se serializan.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Subasta en curso.
+         */
+        private final Mercado mercado;
+
+        /**
+         * Pedidos pendientes de la ronda, agrupados por tipo.
+         */
+        private final int[] agrupados;
+
+        /**
+         * Posición en agrupados del inicio de cada grupo, seguida del final del último.
+         */
+        private final int[] inicioGrupo;
+
+        /**
+         * Rango [desde, hasta) de grupos de la tarea.
+         */
+        private final int desde, hasta;
+
+        /**
+         * Incremento mínimo de las pujas.
+         */
+        private final double epsilon;
+
+        /**
+         * Crea la tarea.
+         * @param mercado subasta en curso.
+         * @param agrupados pedidos pendientes de la ronda, agrupados por tipo.
+         * @param inicioGrupo posición en agrupados del inicio de cada grupo, seguida del final del último.
+         * @param desde primer grupo del rango.
+         * @param hasta grupo siguiente al último del rango.
+         * @param epsilon incremento mínimo de las pujas.
+         */
+        Pujas(Mercado mercado, int[] agrupados, int[] inicioGrupo, int desde, int hasta, double epsilon){
+            this.mercado     = mercado;
+            this.agrupados   = agrupados;
+            this.inicioGrupo = inicioGrupo;
+            this.desde       = desde;
+            this.hasta       = hasta;
+            this.epsilon     = epsilon;
+        }
+
+        @Override
+        protected void compute(){
+            //Cada grupo recorre una vez los costes de todos los pasteleros
+            if((long) (hasta-desde)*mercado.p <= COSTES_POR_TAREA || hasta-desde == 1){
+                for(int g=desde; g<hasta; g++)
+                    mercado.pujarGrupo(agrupados, inicioGrupo[g], inicioGrupo[g+1], epsilon);
+                return;
+            }
+            int mitad = (desde+hasta) >>> 1;
+            invokeAll(new Pujas(mercado, agrupados, inicioGrupo, desde, mitad, epsilon),
+                      new Pujas(mercado, agrupados, inicioGrupo, mitad, hasta, epsilon));
+        }
+    }
+}
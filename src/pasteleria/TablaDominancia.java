@@ -0,0 +1,162 @@
+package pasteleria;
+
+/**
+ * Tabla de dominancia de los nodos del algoritmo de ramificación y poda. Dos nodos con el mismo conjunto de pasteleros
+ * asignados están en el mismo nivel (tienen asignados tantos pedidos como pasteleros) y dan lugar al mismo subproblema:
+ * repartir los pedidos restantes entre los mismos pasteleros libres. Por lo tanto solo merece la pena explorar el de
+ * menor coste total; el otro está dominado y se puede descartar sin perder la solución óptima.
+ * Si se rompen las simetrías, un nodo en mitad de un grupo de pedidos del mismo tipo solo puede asignar al siguiente
+ * pedido pasteleros mayores que su último pastelero (su restricción). En ese caso un nodo domina a otro con la misma
+ * máscara si su coste y su restricción son menores o iguales, ya que sus posibles soluciones incluyen las del otro. Sin
+ * restricción se utiliza el valor -1.
+ * La tabla guarda, para cada máscara de pasteleros asignados, el coste y la restricción de un nodo. Tiene un tamaño
+ * fijo para acotar la memoria: es asociativa por grupos de TAMANO_GRUPO entradas y, cuando el grupo de una máscara nueva
+ * está lleno, se sustituye la entrada más antigua del grupo. Perder una entrada solo hace que se pode menos, nunca afecta al
+ * resultado.
+ * Los nodos con más de Nodo.MAX_PASTELEROS_MASCARA pasteleros no tienen máscara de un único long y no se registran.
+ * No es segura para su uso desde varios hilos.
+ * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
+ * @author Asier Rodríguez López
+ * @version 1.0
+ * @since 2.0
+ */
+final class TablaDominancia {
+
+    /**
+     * Capacidad máxima por defecto: 2^20 entradas, unos 16 MB.
+     */
+    static final int CAPACIDAD_MAXIMA = 1 << 20;
+
+    /**
+     * Número de entradas de cada grupo.
+     */
+    private static final int TAMANO_GRUPO = 4;
+
+    /**
+     * Máscara de pasteleros asignados de cada entrada, 0 si la entrada está libre. Ningún nodo salvo la raíz tiene la
+     * máscara vacía, y la raíz no se registra.
+     */
+    private final long[] claves;
+
+    /**
+     * Coste total del nodo de cada entrada.
+     */
+    private final float[] costes;
+
+    /**
+     * Restricción del nodo de cada entrada.
+     */
+    private final int[] restricciones;
+
+    /**
+     * Siguiente entrada a sustituir en cada grupo.
+     */
+    private final byte[] siguiente;
+
+    /**
+     * Número de grupos menos uno, para calcular el grupo de una máscara.
+     */
+    private final int mascaraGrupos;
+
+    /**
+     * Crea una tabla vacía.
+     * @param capacidad número de entradas. Se redondea a la potencia de dos inmediatamente superior.
+     * @throws IllegalArgumentException si la capacidad es menor a 1.
+     */
+    TablaDominancia(int capacidad){
+        if(capacidad < 1) throw new IllegalArgumentException("ERROR: la capacidad de la tabla no puede ser menor a 1.");
+        int grupos = Integer.highestOneBit(Math.max(capacidad-1, 1) << 1) / TAMANO_GRUPO;
+        grupos = Math.max(grupos, 1);
+        this.claves        = new long[grupos*TAMANO_GRUPO];
+        this.costes        = new float[grupos*TAMANO_GRUPO];
+        this.restricciones = new int[grupos*TAMANO_GRUPO];
+        this.siguiente     = new byte[grupos];
+        this.mascaraGrupos = grupos-1;
+    }
+
+    /**
+     * Capacidad adecuada para una instancia: el doble del número de máscaras posibles, sin superar la capacidad máxima
+     * indicada.
+     * @param numPasteleros número de pasteleros entre los que se reparten los pedidos.
+     * @param maxima capacidad máxima.
+     * @return capacidad de la tabla.
+     */
+    static int capacidadPara(int numPasteleros, int maxima){
+        if(numPasteleros >= 30) return maxima;
+        return Math.min(maxima, Math.max(TAMANO_GRUPO, 1 << (numPasteleros+1)));
+    }
+
+    /**
+     * Registra un nodo. Si la tabla ya contiene su máscara con un coste y una restricción menores o iguales, el nodo
+     * está dominado y no se registra. Si no, sustituye a la entrada de su máscara cuando tiene menor coste.
+     * Complejidad temporal constante O(1).
+     * @param nodo nodo a registrar.
+     * @param restriccion restricción del nodo, -1 si no tiene.
+     * @return false si el nodo está dominado.
+     */
+    boolean registrar(Nodo nodo, int restriccion){
+        if(nodo.asignadosExt != null) return true;
+        long clave  = nodo.asignados;
+        int grupo   = grupo(clave);
+        int inicio  = grupo*TAMANO_GRUPO;
+        for(int e=inicio; e<inicio+TAMANO_GRUPO; e++){
+            if(claves[e] == clave){
+                if(costes[e] <= nodo.costeTotal && restricciones[e] <= restriccion) return false;
+                if(nodo.costeTotal < costes[e] || (nodo.costeTotal == costes[e] && restriccion < restricciones[e]))
+                    guardar(e, clave, nodo.costeTotal, restriccion);
+                return true;
+            }
+            if(claves[e] == 0L){
+                guardar(e, clave, nodo.costeTotal, restriccion);
+                return true;
+            }
+        }
+        //Grupo lleno: se sustituye la entrada más antigua
+        int e = inicio + siguiente[grupo];
+        siguiente[grupo] = (byte) ((siguiente[grupo]+1) & (TAMANO_GRUPO-1));
+        guardar(e, clave, nodo.costeTotal, restriccion);
+        return true;
+    }
+
+    /**
+     * Indica si, después de registrar un nodo, se ha registrado otro con la misma máscara que lo domina: menor coste y
+     * restricción menor o igual.
+     * Complejidad temporal constante O(1).
+     * @param nodo nodo a comprobar.
+     * @param restriccion restricción del nodo, -1 si no tiene.
+     * @return true si el nodo está dominado.
+     */
+    boolean estaDominado(Nodo nodo, int restriccion){
+        if(nodo.asignadosExt != null) return false;
+        long clave = nodo.asignados;
+        int inicio = grupo(clave)*TAMANO_GRUPO;
+        for(int e=inicio; e<inicio+TAMANO_GRUPO; e++){
+            if(claves[e] == clave) return costes[e] < nodo.costeTotal && restricciones[e] <= restriccion;
+            if(claves[e] == 0L) return false;
+        }
+        return false;
+    }
+
+    /**
+     * Guarda los datos de un nodo en una entrada.
+     * @param e entrada.
+     * @param clave máscara de pasteleros asignados.
+     * @param coste coste total del nodo.
+     * @param restriccion restricción del nodo.
+     */
+    private void guardar(int e, long clave, float coste, int restriccion){
+        claves[e]        = clave;
+        costes[e]        = coste;
+        restricciones[e] = restriccion;
+    }
+
+    /**
+     * Grupo de una máscara. Se mezclan los bits para repartir bien máscaras que solo difieren en los bits altos.
+     * @param clave máscara de pasteleros asignados.
+     * @return grupo de la máscara.
+     */
+    private int grupo(long clave){
+        long h = clave * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mascaraGrupos;
+    }
+}
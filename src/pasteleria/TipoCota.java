@@ -0,0 +1,61 @@
+package pasteleria;
+
+/**
+ * Tipos de estimación optimista que puede utilizar el algoritmo de ramificación y poda.
+ * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
+ * @author Asier Rodríguez López
+ * @version 1.0
+ * @since 2.0
+ */
+public enum TipoCota {
+
+    /**
+     * Para cada pedido restante se suma el menor coste de su tipo de pastel entre todos los pasteleros.
+     */
+    COLUMNA("columna"),
+
+    /**
+     * Para cada tipo de pastel con 'c' pedidos restantes se suma el coste de los 'c' pasteleros libres más baratos,
+     * ya que cada pastelero solo puede hacer un pedido. Se mantiene de forma incremental de padre a hijo.
+     */
+    LIBRES("libres"),
+
+    /**
+     * Relajación del problema de asignación de los pedidos restantes con los pasteleros libres mediante la reducción
+     * de filas y columnas de la matriz de costes. Las reducciones se heredan del padre.
+     */
+    REDUCIDA("reducida");
+
+    /**
+     * Valor con el que se indica el tipo de cota en los argumentos de inicio del programa.
+     */
+    private final String argumento;
+
+    /**
+     * Constructor del tipo de cota.
+     * @param argumento valor con el que se indica en los argumentos de inicio del programa.
+     */
+    TipoCota(String argumento){
+        this.argumento = argumento;
+    }
+
+    /**
+     * Devuelve el tipo de cota correspondiente al valor indicado en los argumentos de inicio del programa.
+     * @param argumento valor indicado en los argumentos de inicio.
+     * @return tipo de cota correspondiente.
+     * @throws IllegalArgumentException si el valor no corresponde a ningún tipo de cota.
+     */
+    public static TipoCota desdeArgumento(String argumento){
+        for(TipoCota tipo: values())
+            if(tipo.argumento.equalsIgnoreCase(argumento)) return tipo;
+        throw new IllegalArgumentException("ERROR: tipo de cota no válido => "+argumento);
+    }
+
+    /**
+     * Devuelve el valor con el que se indica el tipo de cota en los argumentos de inicio del programa.
+     * @return valor del argumento.
+     */
+    public String getArgumento(){
+        return this.argumento;
+    }
+}
@@ -0,0 +1,142 @@
+package pasteleria;
+
+import java.util.Arrays;
+
+/**
+ * Resolución exacta del problema de la pastelería como problema de transporte. Los pedidos del mismo tipo de pastel son
+ * intercambiables, por lo que basta con decidir cuántos pasteleros se dedican a cada tipo: cada tipo de pastel j tiene
+ * una demanda igual al número de pedidos de ese tipo, cada pastelero una oferta de 1 y el coste de dedicar el pastelero
+ * k al tipo j es el de la tabla de costes.
+ * Se resuelve como flujo de coste mínimo por caminos mínimos sucesivos. Cada camino de aumento parte de un pastelero
+ * libre, entra en un tipo de pastel y puede pasar a otros tipos cambiando de tipo a pasteleros ya dedicados, hasta un
+ * tipo con demanda pendiente. Como los pasteleros tienen capacidad 1, el grafo residual se reduce a los m tipos de
+ * pastel: el arco del tipo j al tipo j2 vale el menor incremento de coste de pasar un pastelero dedicado a j a j2. El
+ * camino mínimo se calcula con Bellman-Ford sobre esos m nodos, que admite los arcos negativos sin potenciales.
+ * Complejidad temporal O(n*p*m + n*m³), donde 'n' es el número de pedidos, 'p' el número de pasteleros y 'm' el número
+ * de tipos de pasteles. Para n en los miles y m pequeño es mucho menor que el O(n²*p) del algoritmo húngaro.
+ * Al terminar, los pasteleros de cada tipo se reparten entre sus pedidos en orden creciente.
+ * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
+ * @author Asier Rodríguez López
+ * @version 1.0
+ * @since 2.0
+ * @see pasteleria.Hungaro
+ */
+public class Transporte implements Solucionador {
+
+    /**
+     * Tipo asignado a un pastelero libre.
+     */
+    private static final int LIBRE = -1;
+
+    @Override
+    public Resultado resolver(Instancia instancia){
+        Estadisticas estadisticas = new Estadisticas();
+        long inicio = System.nanoTime();
+        int[] pasteleros = asignar(instancia.tablaCostes(), instancia.pedidos(), instancia.getTiposDePasteles());
+        estadisticas.tiempoTotal = System.nanoTime()-inicio;
+        return Resultado.desdeAsignacion(instancia, pasteleros, estadisticas);
+    }
+
+    /**
+     * Calcula la asignación de pasteleros a pedidos de coste mínimo.
+     * @param tabla_costes tabla de costes de elaboración de cada pastel por cada pastelero.
+     * @param pedidos lista de pedidos.
+     * @param tiposDePasteles número de tipos de pasteles.
+     * @return pastelero asignado a cada pedido (empezando en cero).
+     * @throws IllegalArgumentException si hay más pedidos que pasteleros.
+     */
+    public static int[] asignar(float[][] tabla_costes, int[] pedidos, int tiposDePasteles){
+        int n = pedidos.length;
+        int p = tabla_costes.length;
+        int m = tiposDePasteles;
+        if(n > p) throw new IllegalArgumentException("ERROR: el número de pedidos ("+n+") es superior al número de pasteleros ("+p+")");
+
+        //Demanda de cada tipo de pastel
+        int[] demanda = new int[m];
+        for(int pedido: pedidos) demanda[pedido-1]++;
+
+        int[] tipoDe       = new int[p];          //Tipo al que se dedica cada pastelero
+        Arrays.fill(tipoDe, LIBRE);
+        double[] distancia = new double[m];       //Coste del camino mínimo hasta cada tipo
+        int[] anterior     = new int[m];          //Tipo anterior en el camino, LIBRE si se llega desde un pastelero libre
+        int[] pastelero    = new int[m];          //Pastelero que entra en cada tipo del camino
+        double[][] arco    = new double[m][m];    //Menor incremento de coste de pasar un pastelero de un tipo a otro
+        int[][] pasteleroArco = new int[m][m];
+
+        for(int unidad=0; unidad<n; unidad++){
+            //Arcos desde los pasteleros libres y entre tipos de pastel
+            Arrays.fill(distancia, Double.POSITIVE_INFINITY);
+            Arrays.fill(anterior, LIBRE);
+            for(double[] fila: arco) Arrays.fill(fila, Double.POSITIVE_INFINITY);
+
+            for(int k=0; k<p; k++){
+                float[] costes = tabla_costes[k];
+                int j = tipoDe[k];
+                if(j == LIBRE){
+                    for(int j2=0; j2<m; j2++){
+                        if(costes[j2] < distancia[j2]){
+                            distancia[j2] = costes[j2];
+                            pastelero[j2] = k;
+                        }
+                    }
+                }
+                else{
+                    double[] desdeJ = arco[j];
+                    for(int j2=0; j2<m; j2++){
+                        double incremento = (double) costes[j2] - costes[j];
+                        if(j2 != j && incremento < desdeJ[j2]){
+                            desdeJ[j2] = incremento;
+                            pasteleroArco[j][j2] = k;
+                        }
+                    }
+                }
+            }
+
+            //Bellman-Ford sobre los tipos de pastel. No hay ciclos negativos porque el flujo parcial es de coste mínimo.
+            boolean cambios = true;
+            for(int iteracion=0; iteracion<m && cambios; iteracion++){
+                cambios = false;
+                for(int j=0; j<m; j++){
+                    if(distancia[j] == Double.POSITIVE_INFINITY) continue;
+                    for(int j2=0; j2<m; j2++){
+                        double d = distancia[j] + arco[j][j2];
+                        if(d < distancia[j2]){
+                            distancia[j2] = d;
+                            anterior[j2]  = j;
+                            pastelero[j2] = pasteleroArco[j][j2];
+                            cambios       = true;
+                        }
+                    }
+                }
+            }
+
+            //Tipo con demanda pendiente más cercano
+            int destino = LIBRE;
+            for(int j=0; j<m; j++)
+                if(demanda[j] > 0 && (destino == LIBRE || distancia[j] < distancia[destino])) destino = j;
+
+            //Aumento: cada pastelero del camino pasa al tipo siguiente
+            demanda[destino]--;
+            for(int j=destino; j != LIBRE; j=anterior[j])
+                tipoDe[pastelero[j]] = j;
+        }
+
+        //Se reparten los pasteleros de cada tipo entre sus pedidos
+        int[][] pastelerosTipo = new int[m][];
+        int[] usados = new int[m];
+        for(int pedido: pedidos) usados[pedido-1]++;
+        for(int j=0; j<m; j++) pastelerosTipo[j] = new int[usados[j]];
+
+        Arrays.fill(usados, 0);
+        for(int k=0; k<p; k++)
+            if(tipoDe[k] != LIBRE) pastelerosTipo[tipoDe[k]][usados[tipoDe[k]]++] = k;
+
+        int[] pasteleros = new int[n];
+        Arrays.fill(usados, 0);
+        for(int i=0; i<n; i++){
+            int j = pedidos[i]-1;
+            pasteleros[i] = pastelerosTipo[j][usados[j]++];
+        }
+        return pasteleros;
+    }
+}
@@ -0,0 +1,75 @@
+package pasteleria;
+
+import java.io.PrintStream;
+
+/**
+ * Salida de las trazas de los solucionadores. Las líneas se acumulan en un buffer y se escriben en bloques en el
+ * destino, en lugar de hacer un println por línea, y se vuelcan al terminar la resolución.
+ * Para no construir mensajes que no se van a mostrar, los mensajes que concatenan datos se generan dentro de un bloque
+ * condicionado por activa(). Con las trazas desactivadas se utiliza la instancia INACTIVA, que no reserva memoria.
+ * No es segura para su uso desde varios hilos.
+ * UNED PREDA 2022/2023 - PEC2 - Oracle OpenJDK version 19.
+ * @author Asier Rodríguez López
+ * @version 1.0
+ * @since 2.0
+ */
+final class Traza {
+
+    /**
+     * Traza desactivada: no escribe nada.
+     */
+    static final Traza INACTIVA = new Traza(null);
+
+    /**
+     * Número de caracteres a partir del cual se escribe el buffer en el destino.
+     */
+    private static final int TAMANO_BUFFER = 1 << 16;
+
+    /**
+     * Destino de las trazas, null si están desactivadas.
+     */
+    private final PrintStream destino;
+
+    /**
+     * Líneas pendientes de escribir.
+     */
+    private final StringBuilder buffer;
+
+    /**
+     * Crea una traza activa que escribe en el destino indicado.
+     * @param destino destino de las trazas, null para desactivarlas.
+     */
+    Traza(PrintStream destino){
+        this.destino = destino;
+        this.buffer  = destino == null ? null : new StringBuilder(TAMANO_BUFFER + TAMANO_BUFFER/4);
+    }
+
+    /**
+     * Indica si las trazas están activas. Los mensajes que requieren concatenar datos solo deben construirse si
+     * devuelve true.
+     * @return true si las trazas están activas.
+     */
+    boolean activa(){
+        return destino != null;
+    }
+
+    /**
+     * Añade una línea a la traza si esta está activa.
+     * @param linea mensaje de texto a trazar.
+     */
+    void escribir(String linea){
+        if(destino == null) return;
+        buffer.append(linea).append(System.lineSeparator());
+        if(buffer.length() >= TAMANO_BUFFER) volcar();
+    }
+
+    /**
+     * Escribe en el destino las líneas pendientes.
+     */
+    void volcar(){
+        if(destino == null || buffer.length() == 0) return;
+        destino.print(buffer);
+        destino.flush();
+        buffer.setLength(0);
+    }
+}